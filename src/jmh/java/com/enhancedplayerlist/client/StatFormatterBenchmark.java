@@ -0,0 +1,99 @@
+// src/jmh/java/com/enhancedplayerlist/client/StatFormatterBenchmark.java
+package com.enhancedplayerlist.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link StatFormatter} with the {@code String.format} and
+ * {@code StringBuilder} code it replaced, on the values a stat cell formats:
+ * distance in km, damage in hearts and play time in ticks. Run with
+ * {@code -prof gc} to see the allocation per call as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatFormatterBenchmark {
+    private static final int VALUES = 1024;
+
+    private final double[] distances = new double[VALUES];
+    private final float[] damages = new float[VALUES];
+    private final long[] playTimes = new long[VALUES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(19);
+        for (int i = 0; i < VALUES; i++) {
+            distances[i] = random.nextInt(500_000_000) / 100_000.0;
+            damages[i] = random.nextFloat() * 50_000;
+            playTimes[i] = random.nextLong(20L * 3600 * 24 * 365);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (VALUES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public String distanceStringFormat() {
+        return String.format("%.1f km", distances[nextIndex()]);
+    }
+
+    @Benchmark
+    public String distanceStatFormatter() {
+        return StatFormatter.formatFixed(distances[nextIndex()], 1, " km");
+    }
+
+    @Benchmark
+    public String damageStringFormat() {
+        return String.format("%.0f ♥", damages[nextIndex()] / 2);
+    }
+
+    @Benchmark
+    public String damageStatFormatter() {
+        return StatFormatter.formatFixed(damages[nextIndex()] / 2, 0, " ♥");
+    }
+
+    @Benchmark
+    public String playTimeStringBuilder() {
+        return formatTime(playTimes[nextIndex()]);
+    }
+
+    @Benchmark
+    public String playTimeStatFormatter() {
+        return StatFormatter.formatDuration(playTimes[nextIndex()], false);
+    }
+
+    // The play time formatting StatFormatter replaced
+    private static String formatTime(long ticks) {
+        if (ticks <= 0) return "0h";
+
+        long totalSeconds = ticks / 20;
+        long days = TimeUnit.SECONDS.toDays(totalSeconds);
+        long hours = TimeUnit.SECONDS.toHours(totalSeconds) % 24;
+        long minutes = TimeUnit.SECONDS.toMinutes(totalSeconds) % 60;
+
+        StringBuilder time = new StringBuilder();
+        if (days > 0) time.append(days).append("d ");
+        if (hours > 0 || days > 0) time.append(hours).append("h ");
+        if (minutes > 0) time.append(minutes).append("m");
+        return time.toString().trim();
+    }
+}
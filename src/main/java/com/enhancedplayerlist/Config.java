@@ -39,6 +39,30 @@ public class Config {
         }
     }
 
+    public enum SyncMode {
+        POLLING,
+        EVENT
+    }
+
+    public enum StatsDirMonitor {
+        POLLING,
+        WATCH
+    }
+
+    public enum OfflineSort {
+        LAST_SEEN,
+        PLAYTIME
+    }
+
+    public enum ListSort {
+        NONE,
+        NAME,
+        PLAYTIME,
+        DEATHS,
+        DISTANCE,
+        LAST_SEEN
+    }
+
     private static final ModConfigSpec.Builder BUILDER = new ModConfigSpec.Builder();
     private static final List<String> DEFAULT_STATS = Arrays.stream(StatType.values())
             .map(StatType::getId)
@@ -71,10 +95,92 @@ public class Config {
             .comment("How often to update player stats (in ticks, 20 ticks = 1 second)")
             .defineInRange("updateFrequency", 100, 20, 6000);
 
+    private static final ModConfigSpec.EnumValue<SyncMode> SYNC_MODE = BUILDER
+            .comment("How online players' stats are kept up to date",
+                    "POLLING - Re-read every online player every updateFrequency ticks",
+                    "EVENT - Re-read only players whose stats changed, batched by syncCoalesceTicks")
+            .defineEnum("syncMode", SyncMode.POLLING);
+
+    private static final ModConfigSpec.IntValue SYNC_COALESCE_TICKS = BUILDER
+            .comment("In EVENT mode, the minimum number of ticks between two stats updates (deaths, joins and leaves are sent right away)")
+            .defineInRange("syncCoalesceTicks", 20, 1, 6000);
+
+    private static final ModConfigSpec.IntValue REFRESH_BUDGET_MICROS = BUILDER
+            .comment("Time per tick spent re-reading online players' stats (in microseconds); the rest wait for the next tick, and overruns are taken off the next tick's budget")
+            .defineInRange("refreshBudgetMicros", 500, 50, 50000);
+
     private static final ModConfigSpec.BooleanValue COMPACT_MODE = BUILDER
             .comment("Whether to use compact mode (shorter stat names and values)")
             .define("compactMode", false);
 
+    private static final ModConfigSpec.BooleanValue ASYNC_STATS_LOADING = BUILDER
+            .comment("Whether to scan and parse player stat files on background threads instead of the server thread")
+            .define("asyncStatsLoading", true);
+
+    private static final ModConfigSpec.IntValue STATS_LOADER_THREADS = BUILDER
+            .comment("Number of threads used to parse stat files when async loading is enabled (applied on server start)")
+            .defineInRange("statsLoaderThreads", 2, 1, 8);
+
+    private static final ModConfigSpec.EnumValue<StatsDirMonitor> STATS_DIR_MONITOR = BUILDER
+            .comment("How changes to offline players' stat files are detected (applied on server start)",
+                    "POLLING - List the stats directory every updateFrequency ticks",
+                    "WATCH - Watch the directory for changes and only load changed files")
+            .defineEnum("statsDirMonitor", StatsDirMonitor.POLLING);
+
+    private static final ModConfigSpec.IntValue STATS_RECONCILE_MINUTES = BUILDER
+            .comment("In WATCH mode, how often to run a full directory scan in case a change was missed (in minutes)")
+            .defineInRange("statsReconcileMinutes", 10, 1, 1440);
+
+    private static final ModConfigSpec.EnumValue<OfflineSort> OFFLINE_SORT_ORDER = BUILDER
+            .comment("How offline players are ordered when picking the page sent to each client",
+                    "LAST_SEEN - Most recently seen first",
+                    "PLAYTIME - Most play time first")
+            .defineEnum("offlineSortOrder", OfflineSort.LAST_SEEN);
+
+    private static final ModConfigSpec.IntValue OFFLINE_PAGE_SIZE = BUILDER
+            .comment("How many offline players each client receives per page")
+            .defineInRange("offlinePageSize", 50, 0, 500);
+
+    private static final ModConfigSpec.IntValue SNAPSHOT_CHUNK_KB = BUILDER
+            .comment("Full snapshots larger than this are split into fragments of this size and sent over several ticks (in KB, 0 always sends them whole)")
+            .defineInRange("snapshotChunkKb", 64, 0, 512);
+
+    private static final ModConfigSpec.IntValue SNAPSHOT_CHUNKS_PER_TICK = BUILDER
+            .comment("How many snapshot fragments each player is sent per tick, so large transfers never crowd out gameplay packets")
+            .defineInRange("snapshotChunksPerTick", 2, 1, 64);
+
+    private static final ModConfigSpec.BooleanValue STATS_COMPRESSION = BUILDER
+            .comment("Whether to deflate stats payloads above statsCompressionThreshold (trades server CPU for bandwidth; ratio and CPU time are logged every 5 minutes)")
+            .define("statsCompression", false);
+
+    private static final ModConfigSpec.IntValue STATS_COMPRESSION_THRESHOLD = BUILDER
+            .comment("Smallest stats payload, in bytes, that is compressed when statsCompression is on")
+            .defineInRange("statsCompressionThreshold", 1024, 64, 1048576);
+
+    private static final ModConfigSpec.EnumValue<ListSort> LIST_SORT_ORDER = BUILDER
+            .comment("How rows are ordered in the player list overlay (online players always come first)",
+                    "NONE - Arrival order",
+                    "NAME - Alphabetical",
+                    "PLAYTIME, DEATHS, DISTANCE - Highest first",
+                    "LAST_SEEN - Most recently seen first")
+            .defineEnum("listSortOrder", ListSort.NONE);
+
+    private static final ModConfigSpec.BooleanValue LIST_ONLINE_ONLY = BUILDER
+            .comment("Whether the player list overlay only shows online players")
+            .define("listOnlineOnly", false);
+
+    private static final ModConfigSpec.IntValue LIST_SEEN_WITHIN_DAYS = BUILDER
+            .comment("Only show offline players seen within this many days in the overlay (0 shows all)")
+            .defineInRange("listSeenWithinDays", 0, 0, 3650);
+
+    private static final ModConfigSpec.ConfigValue<String> LIST_NAME_FILTER = BUILDER
+            .comment("Only show players whose name starts with this text in the overlay (case-insensitive, empty shows all)")
+            .define("listNameFilter", "");
+
+    private static final ModConfigSpec.BooleanValue CACHE_OVERLAY_TEXTURE = BUILDER
+            .comment("Whether to keep the drawn player list overlay in a texture and only redraw it when its contents or the screen size change")
+            .define("cacheOverlayTexture", true);
+
     static final ModConfigSpec SPEC = BUILDER.build();
 
     // Runtime configuration access
@@ -82,7 +188,27 @@ public class Config {
     public static boolean grayOutOffline;
     public static List<? extends String> visibleStats;
     public static int updateFrequency;
+    public static SyncMode syncMode;
+    public static int syncCoalesceTicks;
+    public static int refreshBudgetMicros;
     public static boolean compactMode;
+    public static boolean asyncStatsLoading;
+    public static int statsLoaderThreads;
+    public static StatsDirMonitor statsDirMonitor;
+    public static int statsReconcileMinutes;
+    public static OfflineSort offlineSortOrder;
+    public static int offlinePageSize;
+    public static int snapshotChunkKb;
+    public static int snapshotChunksPerTick;
+    public static boolean statsCompression;
+    public static int statsCompressionThreshold;
+    public static ListSort listSortOrder;
+    public static boolean listOnlineOnly;
+    public static int listSeenWithinDays;
+    public static String listNameFilter;
+    public static boolean cacheOverlayTexture;
+    // Bumped on every load or reload so client caches can tell the config changed
+    public static int version;
 
     public static void register(IEventBus modEventBus, ModContainer container) {
         container.registerConfig(ModConfig.Type.COMMON, SPEC);
@@ -103,6 +229,25 @@ public class Config {
         grayOutOffline = GRAY_OUT_OFFLINE.get();
         visibleStats = VISIBLE_STATS.get();
         updateFrequency = UPDATE_FREQUENCY.get();
+        syncMode = SYNC_MODE.get();
+        syncCoalesceTicks = SYNC_COALESCE_TICKS.get();
+        refreshBudgetMicros = REFRESH_BUDGET_MICROS.get();
         compactMode = COMPACT_MODE.get();
+        asyncStatsLoading = ASYNC_STATS_LOADING.get();
+        statsLoaderThreads = STATS_LOADER_THREADS.get();
+        statsDirMonitor = STATS_DIR_MONITOR.get();
+        statsReconcileMinutes = STATS_RECONCILE_MINUTES.get();
+        offlineSortOrder = OFFLINE_SORT_ORDER.get();
+        offlinePageSize = OFFLINE_PAGE_SIZE.get();
+        snapshotChunkKb = SNAPSHOT_CHUNK_KB.get();
+        snapshotChunksPerTick = SNAPSHOT_CHUNKS_PER_TICK.get();
+        statsCompression = STATS_COMPRESSION.get();
+        statsCompressionThreshold = STATS_COMPRESSION_THRESHOLD.get();
+        listSortOrder = LIST_SORT_ORDER.get();
+        listOnlineOnly = LIST_ONLINE_ONLY.get();
+        listSeenWithinDays = LIST_SEEN_WITHIN_DAYS.get();
+        listNameFilter = LIST_NAME_FILTER.get();
+        cacheOverlayTexture = CACHE_OVERLAY_TEXTURE.get();
+        version++;
     }
 }
\ No newline at end of file
@@ -2,17 +2,20 @@
 package com.enhancedplayerlist;
 
 import com.enhancedplayerlist.network.NetworkHandler;
+import com.enhancedplayerlist.server.OnlineStatsReader;
 import com.enhancedplayerlist.server.ServerStatsManager;
 import com.enhancedplayerlist.server.ServerScheduler;
+import com.enhancedplayerlist.server.StatsChangeTracker;
 import com.enhancedplayerlist.client.event.ClientEventHandler;
 
-import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.ModLoadingContext;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.StatAwardEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 import net.neoforged.neoforge.event.server.ServerStartedEvent;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
@@ -32,7 +35,7 @@ public class EnhancedPlayerList {
         modEventBus.addListener(NetworkHandler::register);
 
         if (FMLEnvironment.dist == Dist.CLIENT) {
-            ClientEventHandler.init();
+            ClientEventHandler.init(modEventBus);
         }
 
         NeoForge.EVENT_BUS.register(this);
@@ -53,16 +56,22 @@ public class EnhancedPlayerList {
         ServerStatsManager.onServerStopping();
     }
 
+    // Lowest priority so cancelled or rewritten awards are seen as they are applied
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onStatAward(StatAwardEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            OnlineStatsReader.onStatAward(player, event.getStat(), event.getValue());
+            if (Config.syncMode == Config.SyncMode.EVENT) {
+                StatsChangeTracker.onStatAward(player, event.getStat(), event.getValue());
+            }
+        }
+    }
+
     @SubscribeEvent
     public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
-            MinecraftServer server = player.getServer();
-            if (server != null) { // Explicit null check
-                server.execute(() -> {
-                    player.getStats().save();
-                    ServerStatsManager.forceSync();
-                });
-            }
+            // Marks the player online and sends them a full snapshot
+            ServerStatsManager.onPlayerJoin(player);
         }
     }
 
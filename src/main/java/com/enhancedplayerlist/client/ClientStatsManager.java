@@ -1,20 +1,201 @@
 // src/main/java/com/enhancedplayerlist/client/ClientStatsManager.java
 package com.enhancedplayerlist.client;
 
+import com.enhancedplayerlist.Config;
 import com.enhancedplayerlist.data.PlayerStatsData;
-import java.util.HashMap;
-import java.util.Map;
+import com.enhancedplayerlist.data.StatsTable;
+import com.enhancedplayerlist.network.NetworkHandler;
+import com.enhancedplayerlist.network.PlayerStatsDeltaPacket;
+import com.enhancedplayerlist.network.PlayerStatsPacket;
+import com.enhancedplayerlist.network.StatsChunkPacket;
+import com.enhancedplayerlist.network.StatsChunkResumePacket;
+import com.enhancedplayerlist.network.StatsResyncRequestPacket;
+import com.enhancedplayerlist.network.StatsSubscriptionPacket;
+import com.enhancedplayerlist.network.StatsViewRequestPacket;
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import net.minecraft.network.FriendlyByteBuf;
+import org.slf4j.Logger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Applies snapshots and deltas from the server to a private working table, then
+ * publishes an immutable {@link StatsSnapshot} with a single volatile write. Readers
+ * such as the tab overlay take {@link #getSnapshot()} once and see a consistent view
+ * without locking, whichever thread the next packet is applied on.
+ */
 public class ClientStatsManager {
-    private static final Map<UUID, PlayerStatsData> playerStats = new HashMap<>();
+    private static final Logger LOGGER = LogUtils.getLogger();
+    // Written only by the thread applying packets
+    private static final StatsTable playerStats = new StatsTable();
+    private static volatile StatsSnapshot snapshot = StatsSnapshot.EMPTY;
+    // Session player index table, kept for the lifetime of the connection
+    private static final Int2ObjectMap<UUID> playerIndex = new Int2ObjectOpenHashMap<>();
+    // Revision of the last applied snapshot or delta, -1 until the first snapshot arrives
+    private static long revision = -1;
+    private static boolean resyncRequested;
+    // Offline players on the server, of which we only hold the requested page
+    private static int offlineCount;
+    private static int offlineOffset;
+    // Set from a view request until the next snapshot or delta arrives
+    private static boolean viewPending;
+    // Chunked snapshot being reassembled, -1 when none
+    private static long chunkTransferId = -1;
+    private static int chunkNext;
+    private static boolean chunkResumeRequested;
+    private static ByteBuf chunkBytes;
 
-    public static void updatePlayerStats(Map<UUID, PlayerStatsData> newStats) {
+    public static void applySnapshot(PlayerStatsPacket snapshot) {
+        playerIndex.putAll(snapshot.definitions());
+
+        playerStats.clear();
+        for (Int2ObjectMap.Entry<PlayerStatsData> entry : snapshot.playerStats().int2ObjectEntrySet()) {
+            UUID uuid = playerIndex.get(entry.getIntKey());
+            if (uuid == null) continue;
+
+            playerStats.put(uuid, entry.getValue());
+        }
+        revision = snapshot.revision();
+        offlineCount = snapshot.offlineCount();
+        resyncRequested = false;
+        viewPending = false;
+        publish(null);
+    }
+
+    public static void applyDelta(PlayerStatsDeltaPacket delta) {
+        // Definitions are sent once, so keep them even if the rest is dropped
+        playerIndex.putAll(delta.definitions());
+
+        // Deltas sent before our snapshot are already included in it
+        if (revision < 0 || delta.revision() <= revision) return;
+
+        if (delta.baseRevision() != revision) {
+            requestResync();
+            return;
+        }
+
+        boolean slotsMoved = false;
+        IntIterator removed = delta.removed().iterator();
+        while (removed.hasNext()) {
+            UUID uuid = playerIndex.get(removed.nextInt());
+            if (uuid != null) slotsMoved |= playerStats.remove(uuid);
+        }
+
+        List<UUID> changed = new ArrayList<>(delta.changed().size());
+        for (Int2ObjectMap.Entry<PlayerStatsData> entry : delta.changed().int2ObjectEntrySet()) {
+            UUID uuid = playerIndex.get(entry.getIntKey());
+            PlayerStatsData changes = entry.getValue();
+            int slot = uuid != null ? playerStats.slotOf(uuid) : -1;
+            if (slot >= 0) {
+                playerStats.applyChanges(slot, changes);
+                changed.add(uuid);
+            } else if (uuid != null && changes.getDirtyMask() == PlayerStatsData.ALL_FIELDS) {
+                playerStats.put(uuid, changes);
+                changed.add(uuid);
+            } else {
+                // Partial update for an entry we never received
+                requestResync();
+                return;
+            }
+        }
+        revision = delta.revision();
+        offlineCount = delta.offlineCount();
+        viewPending = false;
+        publish(new StatsSnapshot.Changes(Collections.unmodifiableList(changed), slotsMoved));
+    }
+
+    /**
+     * Appends one fragment of a chunked snapshot and applies the snapshot once the
+     * last fragment is in. A missing fragment asks the server to resume from it.
+     */
+    public static void applyChunk(StatsChunkPacket chunk) {
+        if (chunk.transferId() != chunkTransferId) {
+            // A new transfer supersedes any partial one
+            chunkTransferId = chunk.transferId();
+            chunkNext = 0;
+            chunkResumeRequested = false;
+            chunkBytes = Unpooled.buffer();
+        }
+
+        if (chunk.index() != chunkNext) {
+            // Fragments after a gap are dropped until the resumed one arrives
+            if (chunk.index() > chunkNext && !chunkResumeRequested) {
+                chunkResumeRequested = true;
+                NetworkHandler.sendToServer(new StatsChunkResumePacket(chunkTransferId, chunkNext));
+            }
+            return;
+        }
+
+        chunkBytes.writeBytes(chunk.data());
+        chunkNext++;
+        chunkResumeRequested = false;
+        if (chunkNext < chunk.count()) return;
+
+        ByteBuf bytes = chunkBytes;
+        chunkTransferId = -1;
+        chunkBytes = null;
+        try {
+            applySnapshot(PlayerStatsPacket.STREAM_CODEC.decode(new FriendlyByteBuf(bytes)));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to decode chunked stats snapshot: {}", e.getMessage());
+            requestResync();
+        }
+    }
+
+    private static void publish(StatsSnapshot.Changes changes) {
+        snapshot = new StatsSnapshot(snapshot.version() + 1, playerStats.snapshot(), offlineCount, offlineOffset, changes);
+    }
+
+    public static void requestView(Config.OfflineSort sort, int offset, int limit) {
+        offlineOffset = offset;
+        viewPending = true;
+        NetworkHandler.sendToServer(new StatsViewRequestPacket(sort, offset, limit));
+    }
+
+    public static int getOfflineOffset() {
+        return offlineOffset;
+    }
+
+    /**
+     * Whether a requested page of offline players may not have arrived yet.
+     */
+    public static boolean isViewPending() {
+        return viewPending;
+    }
+
+    public static void setListOpen(boolean open) {
+        NetworkHandler.sendToServer(open ? StatsSubscriptionPacket.OPEN : StatsSubscriptionPacket.CLOSED);
+    }
+
+    private static void requestResync() {
+        if (!resyncRequested) {
+            resyncRequested = true;
+            NetworkHandler.sendToServer(StatsResyncRequestPacket.INSTANCE);
+        }
+    }
+
+    public static void reset() {
         playerStats.clear();
-        playerStats.putAll(newStats);
+        playerIndex.clear();
+        revision = -1;
+        offlineCount = 0;
+        offlineOffset = 0;
+        viewPending = false;
+        resyncRequested = false;
+        chunkTransferId = -1;
+        chunkBytes = null;
+        PlayerListRenderer.clearCache();
+        publish(null);
     }
 
-    public static Map<UUID, PlayerStatsData> getPlayerStats() {
-        return playerStats;
+    public static StatsSnapshot getSnapshot() {
+        return snapshot;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+// src/main/java/com/enhancedplayerlist/client/FontWidthCache.java
+package com.enhancedplayerlist.client;
+
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.util.Mth;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import java.util.Arrays;
+
+/**
+ * Text widths for the overlay. Printable ASCII strings (names, numbers, most stat
+ * text) are measured by summing cached per-glyph advances, which gives exactly what
+ * {@link Font#width(String)} returns without going through the font. Other strings
+ * are measured by the font and kept in a bounded LRU cache. Render thread only;
+ * cleared on resource reload and when the Unicode font option is toggled.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class FontWidthCache {
+    private static final int MAX_CACHED_STRINGS = 1024;
+    private static final char FIRST_GLYPH = ' ';
+    private static final char LAST_GLYPH = '~';
+
+    // Advance of each printable ASCII glyph, NaN until measured
+    private static final float[] advances = new float[LAST_GLYPH - FIRST_GLYPH + 1];
+    // Iteration order is access order, oldest first
+    private static final Object2IntLinkedOpenHashMap<String> widths = new Object2IntLinkedOpenHashMap<>();
+    private static Font measuredFont;
+    private static boolean measuredUnicode;
+
+    static {
+        widths.defaultReturnValue(-1);
+        Arrays.fill(advances, Float.NaN);
+    }
+
+    private FontWidthCache() {}
+
+    public static int width(Font font, String text) {
+        // No client instance when measured outside the game, e.g. in tests
+        Minecraft minecraft = Minecraft.getInstance();
+        boolean unicode = minecraft != null && minecraft.options.forceUnicodeFont().get();
+        if (font != measuredFont || unicode != measuredUnicode) {
+            clear();
+            measuredFont = font;
+            measuredUnicode = unicode;
+        }
+
+        // Fast path: sum the advances in the same order the font's splitter does
+        float sum = 0;
+        int i = 0;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < FIRST_GLYPH || c > LAST_GLYPH) break;
+
+            float advance = advances[c - FIRST_GLYPH];
+            if (Float.isNaN(advance)) {
+                advance = font.getSplitter().stringWidth(String.valueOf(c));
+                advances[c - FIRST_GLYPH] = advance;
+            }
+            sum += advance;
+        }
+        if (i == text.length()) return Mth.ceil(sum);
+
+        int width = widths.getAndMoveToLast(text);
+        if (width < 0) {
+            width = font.width(text);
+            if (widths.size() >= MAX_CACHED_STRINGS) widths.removeFirstInt();
+            widths.putAndMoveToLast(text, width);
+        }
+        return width;
+    }
+
+    public static void clear() {
+        Arrays.fill(advances, Float.NaN);
+        widths.clear();
+    }
+}
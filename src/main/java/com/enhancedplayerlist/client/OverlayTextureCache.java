@@ -0,0 +1,117 @@
+// src/main/java/com/enhancedplayerlist/client/OverlayTextureCache.java
+package com.enhancedplayerlist.client;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+import org.joml.Matrix4f;
+
+/**
+ * Keeps the rendered overlay in an offscreen {@link TextureTarget} the size of the
+ * main framebuffer. The overlay is only painted into it when its content version or
+ * the framebuffer size changes; every other frame draws one textured quad from a
+ * prebuilt {@link VertexBuffer}. Render thread only.
+ */
+@OnlyIn(Dist.CLIENT)
+public class OverlayTextureCache {
+    private TextureTarget target;
+    // Screen-sized quad in GUI coordinates, rebuilt with the GUI size
+    private VertexBuffer quad;
+    private int quadWidth = -1;
+    private int quadHeight = -1;
+    private int paintedVersion = -1;
+    private final Matrix4f modelView = new Matrix4f();
+
+    /**
+     * Draws the cached overlay, first repainting it with {@code painter} if
+     * {@code version} changed or the framebuffer was resized since the last paint.
+     */
+    public void draw(GuiGraphics graphics, int version, Runnable painter) {
+        Minecraft minecraft = Minecraft.getInstance();
+        RenderTarget main = minecraft.getMainRenderTarget();
+
+        boolean stale = version != paintedVersion;
+        if (target == null) {
+            target = new TextureTarget(main.width, main.height, true, Minecraft.ON_OSX);
+            stale = true;
+        } else if (target.width != main.width || target.height != main.height) {
+            target.resize(main.width, main.height, Minecraft.ON_OSX);
+            stale = true;
+        }
+
+        if (stale) {
+            // Whatever the GUI queued so far belongs on the main framebuffer
+            graphics.flush();
+            target.setClearColor(0, 0, 0, 0);
+            target.clear(Minecraft.ON_OSX);
+            target.bindWrite(true);
+            painter.run();
+            graphics.flush();
+            main.bindWrite(true);
+            paintedVersion = version;
+        }
+
+        int width = graphics.guiWidth();
+        int height = graphics.guiHeight();
+        if (quad == null || width != quadWidth || height != quadHeight) {
+            buildQuad(width, height);
+        }
+
+        // The texture holds colours already multiplied by their alpha
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+        modelView.set(RenderSystem.getModelViewMatrix()).mul(graphics.pose().last().pose());
+        quad.bind();
+        quad.drawWithShader(modelView, RenderSystem.getProjectionMatrix(), GameRenderer.getPositionTexShader());
+        VertexBuffer.unbind();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+    }
+
+    /**
+     * Forces a repaint on the next draw.
+     */
+    public void invalidate() {
+        paintedVersion = -1;
+    }
+
+    public void close() {
+        if (target != null) {
+            target.destroyBuffers();
+            target = null;
+        }
+        if (quad != null) {
+            quad.close();
+            quad = null;
+        }
+        paintedVersion = -1;
+    }
+
+    private void buildQuad(int width, int height) {
+        if (quad == null) quad = new VertexBuffer(VertexBuffer.Usage.STATIC);
+
+        // Framebuffer rows start at the bottom, so v runs against screen y
+        BufferBuilder builder = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        builder.addVertex(0, height, 0).setUv(0, 0);
+        builder.addVertex(width, height, 0).setUv(1, 0);
+        builder.addVertex(width, 0, 0).setUv(1, 1);
+        builder.addVertex(0, 0, 0).setUv(0, 1);
+        quad.bind();
+        quad.upload(builder.buildOrThrow());
+        VertexBuffer.unbind();
+        quadWidth = width;
+        quadHeight = height;
+    }
+}
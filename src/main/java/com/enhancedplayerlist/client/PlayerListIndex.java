@@ -0,0 +1,180 @@
+// src/main/java/com/enhancedplayerlist/client/PlayerListIndex.java
+package com.enhancedplayerlist.client;
+
+import com.enhancedplayerlist.Config;
+import com.enhancedplayerlist.data.StatsTable;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordered, filtered slot index for the overlay. A delta only re-positions the
+ * entries it touched: they are taken out of the order and binary-inserted back,
+ * so a sync costs O(n + k log n) instead of a full sort. A full sort happens on the
+ * first build, after a server snapshot, when publications were skipped, when the
+ * sort or filters change, or when a delta touches a large share of the rows.
+ * Online players always come first; without a sort key each group keeps arrival
+ * (slot) order.
+ */
+@OnlyIn(Dist.CLIENT)
+public class PlayerListIndex {
+    // Above this share of changed rows a full sort is cheaper than inserting one by one
+    private static final int FULL_SORT_DIVISOR = 4;
+    // The last-seen filter drifts with the clock, so it is re-applied this often
+    private static final long TIME_FILTER_REFRESH = TimeUnit.MINUTES.toMillis(1);
+
+    private StatsTable table;
+    private long version = -1;
+    private int configVersion = -1;
+    private long filteredAt;
+
+    private int[] order = new int[0];
+    private int size;
+    private boolean[] touched = new boolean[0];
+
+    // Filter state resolved from the config on every full build
+    private String namePrefix = "";
+    private long seenAfter;
+
+    public int size() {
+        return size;
+    }
+
+    public int slotAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * Brings the order up to date with a published snapshot. Returns true if it changed.
+     */
+    public boolean update(StatsSnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        boolean timeFilterStale = Config.listSeenWithinDays > 0 && now - filteredAt > TIME_FILTER_REFRESH;
+        if (snapshot.version() == version && Config.version == configVersion && !timeFilterStale) {
+            return false;
+        }
+
+        StatsSnapshot.Changes changes = snapshot.changes();
+        // Arrival order is slot order, which a removal reshuffles
+        boolean incremental = table != null && changes != null && snapshot.version() == version + 1
+                && Config.version == configVersion && !timeFilterStale
+                && changes.changed().size() <= Math.max(1, size / FULL_SORT_DIVISOR)
+                && !(changes.slotsMoved() && Config.listSortOrder == Config.ListSort.NONE);
+
+        if (incremental) {
+            applyChanges(snapshot.table(), changes);
+        } else {
+            rebuild(snapshot.table(), now);
+        }
+        version = snapshot.version();
+        configVersion = Config.version;
+        return true;
+    }
+
+    private void rebuild(StatsTable table, long now) {
+        this.table = table;
+        namePrefix = Config.listNameFilter.toLowerCase(Locale.ROOT);
+        seenAfter = Config.listSeenWithinDays > 0 ? now - TimeUnit.DAYS.toMillis(Config.listSeenWithinDays) : 0;
+        filteredAt = now;
+
+        ensureCapacity(table.size());
+        size = 0;
+        for (int slot = 0; slot < table.size(); slot++) {
+            if (accepts(slot)) order[size++] = slot;
+        }
+        IntArrays.mergeSort(order, 0, size, this::compare);
+    }
+
+    private void applyChanges(StatsTable newTable, StatsSnapshot.Changes changes) {
+        StatsTable oldTable = table;
+        table = newTable;
+        ensureCapacity(newTable.size());
+
+        // Removals move entries between slots: carry the order over by UUID
+        if (changes.slotsMoved()) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = newTable.slotOf(oldTable.getUuidMost(order[i]), oldTable.getUuidLeast(order[i]));
+                if (slot >= 0) order[kept++] = slot;
+            }
+            size = kept;
+        }
+
+        // Take every touched entry out, then put back the ones that still pass the filters
+        for (UUID uuid : changes.changed()) {
+            int slot = newTable.slotOf(uuid);
+            if (slot >= 0) touched[slot] = true;
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!touched[order[i]]) order[kept++] = order[i];
+        }
+        size = kept;
+
+        for (UUID uuid : changes.changed()) {
+            int slot = newTable.slotOf(uuid);
+            if (slot < 0 || !touched[slot]) continue;
+
+            touched[slot] = false;
+            if (accepts(slot)) insert(slot);
+        }
+    }
+
+    private void insert(int slot) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(order[mid], slot) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        int position = low;
+        System.arraycopy(order, position, order, position + 1, size - position);
+        order[position] = slot;
+        size++;
+    }
+
+    private boolean accepts(int slot) {
+        boolean online = table.isOnline(slot);
+        if (!online && (Config.listOnlineOnly || !Config.showOfflinePlayers)) return false;
+        if (!online && seenAfter > 0 && table.getLastSeen(slot) < seenAfter) return false;
+        return namePrefix.isEmpty() || table.getName(slot).regionMatches(true, 0, namePrefix, 0, namePrefix.length());
+    }
+
+    private int compare(int a, int b) {
+        // Online players stay on top whatever the sort
+        int result = Boolean.compare(table.isOnline(b), table.isOnline(a));
+        if (result != 0) return result;
+
+        result = switch (Config.listSortOrder) {
+            // Arrival order
+            case NONE -> Integer.compare(a, b);
+            case NAME -> 0;
+            case PLAYTIME -> Long.compare(table.getPlayTime(b), table.getPlayTime(a));
+            case DEATHS -> Integer.compare(table.getDeaths(b), table.getDeaths(a));
+            case DISTANCE -> Long.compare(table.getBlocksWalked(b), table.getBlocksWalked(a));
+            case LAST_SEEN -> Long.compare(table.getLastSeen(b), table.getLastSeen(a));
+        };
+        if (result != 0) return result;
+
+        result = table.getName(a).compareToIgnoreCase(table.getName(b));
+        if (result != 0) return result;
+        result = Long.compare(table.getUuidMost(a), table.getUuidMost(b));
+        return result != 0 ? result : Long.compare(table.getUuidLeast(a), table.getUuidLeast(b));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (order.length < capacity) {
+            int[] grown = new int[Math.max(capacity, order.length * 2)];
+            System.arraycopy(order, 0, grown, 0, size);
+            order = grown;
+        }
+        if (touched.length < capacity) {
+            touched = new boolean[order.length];
+        }
+    }
+}
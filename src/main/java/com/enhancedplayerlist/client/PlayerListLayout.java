@@ -0,0 +1,259 @@
+// src/main/java/com/enhancedplayerlist/client/PlayerListLayout.java
+package com.enhancedplayerlist.client;
+
+import com.enhancedplayerlist.Config;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.FormattedCharSequence;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import java.util.Arrays;
+
+/**
+ * Screen positions for the tab overlay, computed from a {@link PlayerListModel}
+ * and the scaled screen size. Only the rows inside the scroll viewport are laid out,
+ * formatted and drawn, so the cost follows the screen height rather than the roster.
+ * Names too wide for their column are truncated once, and the rectangle, header and
+ * cell coordinates are kept in arrays so {@link #draw} only replays them. Recomputed
+ * only when the model changes, the screen is resized or the list is scrolled. With
+ * the texture cache on, the drawn overlay is kept in an {@link OverlayTextureCache}
+ * and only repainted after such a recompute.
+ */
+@OnlyIn(Dist.CLIENT)
+public class PlayerListLayout {
+    private static final int ROW_HEIGHT = 9;
+    private static final int NAME_COLUMN_WIDTH = 100;
+    private static final int PADDING = 5;
+    private static final int SCROLLBAR_WIDTH = 2;
+    private static final int BACKGROUND_COLOR = 0x80000000;
+    private static final int HEADER_COLOR = 0xFFFFFF;
+    private static final int INDICATOR_COLOR = 0xA0A0A0;
+    private static final int SCROLLBAR_COLOR = 0xFFA0A0A0;
+    private static final String ELLIPSIS = "...";
+
+    private int layoutVersion = -1;
+    private int screenWidth = -1;
+    private int screenHeight = -1;
+    private int laidOutFirstRow = -1;
+
+    // Scroll state, clamped against the last laid out model
+    private int firstRow;
+    private int visibleRows;
+    private int rowCount;
+
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+    private int headerY;
+    private int nameX;
+    private int[] columnX = new int[0];
+    private int[] rowY = new int[0];
+    private FormattedCharSequence[] names = new FormattedCharSequence[0];
+    private FormattedCharSequence indicator;
+    private int indicatorY;
+    private int scrollbarTop;
+    private int scrollbarBottom;
+
+    // Bumped on every recompute, so the texture cache knows when to repaint
+    private int contentVersion;
+    private final OverlayTextureCache textureCache = new OverlayTextureCache();
+    // Reused paint task, so cached frames do not allocate a lambda
+    private final Runnable drawTask = this::drawPending;
+    private GuiGraphics pendingGraphics;
+    private PlayerListModel pendingModel;
+    private Font pendingFont;
+
+    /**
+     * Frees the cached overlay texture. It is recreated on the next cached draw.
+     */
+    public void releaseCache() {
+        textureCache.close();
+    }
+
+    /**
+     * Scrolls by a number of rows. Returns false if the list fits on screen.
+     */
+    public boolean scroll(int rows) {
+        if (rowCount <= visibleRows) return false;
+
+        firstRow = clampFirstRow(firstRow + rows);
+        return true;
+    }
+
+    public void scrollTo(int row) {
+        firstRow = clampFirstRow(row);
+    }
+
+    public int getVisibleRows() {
+        return visibleRows;
+    }
+
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    public boolean isAtEnd() {
+        return firstRow + visibleRows >= rowCount;
+    }
+
+    /**
+     * Formats the rows in the viewport and recomputes positions if the model, the
+     * screen size or the scroll position changed.
+     */
+    public void update(PlayerListModel model, int screenWidth, int screenHeight, Font font) {
+        rowCount = model.getRowCount();
+        top = screenHeight / 4;
+        // Header, indicator and padding share the space above the bottom eighth of the screen
+        int available = screenHeight - screenHeight / 8 - top - (PADDING * 2) - (ROW_HEIGHT * 2);
+        visibleRows = Math.max(1, Math.min(rowCount, available / ROW_HEIGHT));
+        firstRow = clampFirstRow(firstRow);
+
+        model.ensureFormatted(firstRow, firstRow + visibleRows, font);
+        if (model.getLayoutVersion() == layoutVersion && screenWidth == this.screenWidth
+                && screenHeight == this.screenHeight && firstRow == laidOutFirstRow) {
+            return;
+        }
+
+        boolean scrollable = rowCount > visibleRows;
+        int totalWidth = NAME_COLUMN_WIDTH + model.getStatsWidth() + (PADDING * 3);
+
+        // Center everything
+        left = (screenWidth - totalWidth) / 2;
+        right = left + totalWidth;
+        headerY = top + PADDING;
+        nameX = left + PADDING;
+
+        int columnCount = model.getColumnCount();
+        if (columnX.length < columnCount) columnX = new int[columnCount];
+        int x = left + NAME_COLUMN_WIDTH + (PADDING * 2);
+        for (int col = 0; col < columnCount; col++) {
+            columnX[col] = x;
+            x += model.getColumnWidth(col) + PlayerListModel.STAT_SPACING;
+        }
+
+        if (rowY.length < visibleRows) {
+            rowY = new int[visibleRows];
+            names = new FormattedCharSequence[visibleRows];
+        }
+        int y = headerY + ROW_HEIGHT + PADDING;
+        for (int i = 0; i < visibleRows; i++) {
+            rowY[i] = y;
+            names[i] = truncate(font, model, firstRow + i, NAME_COLUMN_WIDTH - PADDING);
+            y += ROW_HEIGHT;
+        }
+
+        int lastRow = firstRow + visibleRows;
+        // The server only sends one page of offline players, so number rows across all pages
+        int onlineRows = rowCount - model.getOfflineRowCount();
+        boolean paged = Config.showOfflinePlayers && !Config.listOnlineOnly
+                && (model.getOfflineOffset() > 0 || model.getOfflineRowCount() < model.getOfflineTotal());
+        if (scrollable || paged) {
+            indicatorY = y;
+            indicator = Component.literal(paged
+                    ? formatIndicator(position(firstRow, onlineRows, model) + 1, position(lastRow - 1, onlineRows, model) + 1,
+                            onlineRows + Math.max(model.getOfflineTotal(), model.getOfflineRowCount()))
+                    : formatIndicator(firstRow + 1, lastRow, rowCount)).getVisualOrderText();
+            y += ROW_HEIGHT;
+        } else {
+            indicator = null;
+        }
+        bottom = y + PADDING;
+
+        if (scrollable) {
+            int trackTop = headerY + ROW_HEIGHT + PADDING;
+            int trackHeight = visibleRows * ROW_HEIGHT;
+            scrollbarTop = trackTop + (int) ((long) trackHeight * firstRow / rowCount);
+            scrollbarBottom = Math.max(scrollbarTop + 1, trackTop + (int) ((long) trackHeight * lastRow / rowCount));
+        } else {
+            scrollbarTop = scrollbarBottom = 0;
+        }
+
+        // Drop names scrolled out of the viewport
+        Arrays.fill(names, visibleRows, names.length, null);
+        layoutVersion = model.getLayoutVersion();
+        laidOutFirstRow = firstRow;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        contentVersion++;
+    }
+
+    /**
+     * Draws the overlay. When cached, it is painted into a texture only after the
+     * layout changed, and every other frame just draws that texture.
+     */
+    public void draw(GuiGraphics graphics, PlayerListModel model, Font font, boolean cached) {
+        if (!cached) {
+            drawContents(graphics, model, font);
+            return;
+        }
+
+        pendingGraphics = graphics;
+        pendingModel = model;
+        pendingFont = font;
+        try {
+            textureCache.draw(graphics, contentVersion, drawTask);
+        } finally {
+            pendingGraphics = null;
+            pendingModel = null;
+            pendingFont = null;
+        }
+    }
+
+    private void drawPending() {
+        drawContents(pendingGraphics, pendingModel, pendingFont);
+    }
+
+    private void drawContents(GuiGraphics graphics, PlayerListModel model, Font font) {
+        graphics.fill(left, top, right, bottom, BACKGROUND_COLOR);
+
+        // Draw headers
+        graphics.drawString(font, model.getTitle(), nameX, headerY, HEADER_COLOR);
+        for (int col = 0; col < model.getColumnCount(); col++) {
+            graphics.drawString(font, model.getHeader(col), columnX[col], headerY, HEADER_COLOR);
+        }
+
+        // Draw the rows in the viewport
+        for (int i = 0; i < visibleRows; i++) {
+            int row = firstRow + i;
+            int color = model.getRowColor(row);
+            graphics.drawString(font, names[i], nameX, rowY[i], color);
+            for (int col = 0; col < model.getColumnCount(); col++) {
+                FormattedCharSequence value = model.getCell(row, col);
+                if (value != null) {
+                    graphics.drawString(font, value, columnX[col], rowY[i], color);
+                }
+            }
+        }
+
+        if (scrollbarBottom > scrollbarTop) {
+            graphics.fill(right - SCROLLBAR_WIDTH, scrollbarTop, right, scrollbarBottom, SCROLLBAR_COLOR);
+        }
+        if (indicator != null) {
+            graphics.drawString(font, indicator, nameX, indicatorY, INDICATOR_COLOR);
+        }
+    }
+
+    private int clampFirstRow(int row) {
+        return Math.max(0, Math.min(row, rowCount - visibleRows));
+    }
+
+    // Offline rows are shifted by the position of the held page
+    private static int position(int row, int onlineRows, PlayerListModel model) {
+        return row < onlineRows ? row : row + model.getOfflineOffset();
+    }
+
+    private static String formatIndicator(int from, int to, int total) {
+        return from + "-" + to + " of " + total;
+    }
+
+    private static FormattedCharSequence truncate(Font font, PlayerListModel model, int row, int maxWidth) {
+        String name = model.getRowNameText(row);
+        if (FontWidthCache.width(font, name) <= maxWidth) return model.getRowName(row);
+
+        String cut = font.plainSubstrByWidth(name, maxWidth - FontWidthCache.width(font, ELLIPSIS));
+        return Component.literal(cut + ELLIPSIS).getVisualOrderText();
+    }
+}
@@ -0,0 +1,190 @@
+// src/main/java/com/enhancedplayerlist/client/PlayerListModel.java
+package com.enhancedplayerlist.client;
+
+import com.enhancedplayerlist.Config;
+import com.enhancedplayerlist.data.StatsTable;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.multiplayer.PlayerInfo;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.FormattedCharSequence;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Prebuilt rows for the tab overlay: resolved slots, names, colours, pre-shaped cell
+ * text and {@code int[]} column widths. Row order and filtering come from a
+ * {@link PlayerListIndex}. Rows are re-resolved only when the published snapshot,
+ * the listed online players, the config or the time-based text (last seen) goes
+ * stale. Cell text is formatted lazily for the rows that are actually shown, so
+ * the cost follows the viewport rather than the roster size.
+ */
+@OnlyIn(Dist.CLIENT)
+public class PlayerListModel {
+    public static final int STAT_SPACING = 8;
+    private static final long TEXT_REFRESH_INTERVAL = 30000; // ms, last seen text changes at most once a minute
+    private static final int ONLINE_COLOR = 0xFFFFFF;
+    private static final int OFFLINE_COLOR = 0x808080;
+
+    private final FormattedCharSequence title = Component.literal("Players").getVisualOrderText();
+    private final PlayerListIndex index = new PlayerListIndex();
+
+    // Rebuild keys
+    private long dataVersion = -1;
+    private int configVersion = -1;
+    private int listedCount = -1;
+    private long builtAt;
+    private int layoutVersion;
+
+    private StatsTable table;
+    private int offlineTotal;
+    private int offlineOffset;
+    private int rowCount;
+    private int offlineRowCount;
+    private int[] rowSlots = new int[0];
+    private boolean[] rowFormatted = new boolean[0];
+    private String[] rowNameTexts = new String[0];
+    private FormattedCharSequence[] rowNames = new FormattedCharSequence[0];
+    private int[] rowColors = new int[0];
+    // Cells by row * columnCount + column, null where a stat has no value
+    private FormattedCharSequence[] cells = new FormattedCharSequence[0];
+
+    private int columnCount;
+    private FormattedCharSequence[] headers = new FormattedCharSequence[0];
+    private int[] columnWidths = new int[0];
+    private int statsWidth;
+
+    /**
+     * Re-resolves the rows if anything they depend on changed. Returns true if it did.
+     */
+    public boolean update(StatsSnapshot snapshot, Collection<PlayerInfo> listed, Font font) {
+        long now = System.currentTimeMillis();
+        boolean reordered = index.update(snapshot);
+        if (!reordered && snapshot.version() == dataVersion && Config.version == configVersion
+                && listed.size() == listedCount && now - builtAt < TEXT_REFRESH_INTERVAL) {
+            return false;
+        }
+
+        rebuild(snapshot.table(), font);
+        offlineTotal = snapshot.offlineCount();
+        offlineOffset = snapshot.offlineOffset();
+        dataVersion = snapshot.version();
+        configVersion = Config.version;
+        listedCount = listed.size();
+        builtAt = now;
+        layoutVersion++;
+        return true;
+    }
+
+    private void rebuild(StatsTable table, Font font) {
+        this.table = table;
+
+        // Sorted and filtered by the index, online players first
+        rowCount = index.size();
+        if (rowSlots.length < rowCount) rowSlots = new int[rowCount];
+        offlineRowCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            int slot = index.slotAt(row);
+            rowSlots[row] = slot;
+            if (!table.isOnline(slot)) offlineRowCount++;
+        }
+
+        columnCount = Config.visibleStats.size();
+        if (headers.length < columnCount) {
+            headers = new FormattedCharSequence[columnCount];
+            columnWidths = new int[columnCount];
+        }
+        for (int col = 0; col < columnCount; col++) {
+            String header = formatStatHeader(Config.visibleStats.get(col));
+            headers[col] = Component.literal(header).getVisualOrderText();
+            columnWidths[col] = FontWidthCache.width(font, header);
+        }
+
+        if (rowFormatted.length < rowCount) {
+            rowFormatted = new boolean[rowCount];
+            rowNameTexts = new String[rowCount];
+            rowNames = new FormattedCharSequence[rowCount];
+            rowColors = new int[rowCount];
+        }
+        if (cells.length < rowCount * columnCount) {
+            cells = new FormattedCharSequence[rowCount * columnCount];
+        }
+
+        for (int row = 0; row < rowCount; row++) {
+            int slot = rowSlots[row];
+            rowFormatted[row] = false;
+            rowNameTexts[row] = table.getName(slot);
+            rowColors[row] = table.isOnline(slot) || !Config.grayOutOffline ? ONLINE_COLOR : OFFLINE_COLOR;
+        }
+        // Drop references to rows from the previous build
+        Arrays.fill(rowNames, null);
+        Arrays.fill(cells, null);
+
+        updateStatsWidth();
+    }
+
+    /**
+     * Formats the cell text of rows {@code [from, to)} that were not formatted since the
+     * last rebuild. Column widths only grow, and any growth bumps the layout version.
+     */
+    public void ensureFormatted(int from, int to, Font font) {
+        boolean widened = false;
+        for (int row = Math.max(0, from); row < Math.min(to, rowCount); row++) {
+            if (rowFormatted[row]) continue;
+
+            rowNames[row] = Component.literal(rowNameTexts[row]).getVisualOrderText();
+            Map<String, Component> stats = PlayerListRenderer.getPlayerStatsMap(table, rowSlots[row]);
+            for (int col = 0; col < columnCount; col++) {
+                Component value = stats.get(Config.visibleStats.get(col));
+                if (value == null) continue;
+
+                cells[row * columnCount + col] = value.getVisualOrderText();
+                int width = FontWidthCache.width(font, value.getString());
+                if (width > columnWidths[col]) {
+                    columnWidths[col] = width;
+                    widened = true;
+                }
+            }
+            rowFormatted[row] = true;
+        }
+
+        if (widened) {
+            updateStatsWidth();
+            layoutVersion++;
+        }
+    }
+
+    private void updateStatsWidth() {
+        statsWidth = 0;
+        for (int col = 0; col < columnCount; col++) {
+            statsWidth += columnWidths[col] + STAT_SPACING;
+        }
+    }
+
+    private static String formatStatHeader(String stat) {
+        return Config.compactMode ? stat.substring(0, Math.min(3, stat.length())).toUpperCase()
+                : stat.substring(0, 1).toUpperCase() + stat.substring(1);
+    }
+
+    public FormattedCharSequence getTitle() { return title; }
+    public int getRowCount() { return rowCount; }
+    public int getColumnCount() { return columnCount; }
+    public int getRowSlot(int row) { return rowSlots[row]; }
+    public String getRowNameText(int row) { return rowNameTexts[row]; }
+    public FormattedCharSequence getRowName(int row) { return rowNames[row]; }
+    public int getRowColor(int row) { return rowColors[row]; }
+    public FormattedCharSequence getCell(int row, int col) { return cells[row * columnCount + col]; }
+    public FormattedCharSequence getHeader(int col) { return headers[col]; }
+    public int getColumnWidth(int col) { return columnWidths[col]; }
+    public int getStatsWidth() { return statsWidth; }
+    public int getOfflineRowCount() { return offlineRowCount; }
+    // Offline players on the server, of which only a page is held
+    public int getOfflineTotal() { return offlineTotal; }
+    // Position of the held page among all offline players
+    public int getOfflineOffset() { return offlineOffset; }
+    // Changes whenever the rows are rebuilt or a column widens
+    public int getLayoutVersion() { return layoutVersion; }
+}
@@ -2,7 +2,7 @@
 package com.enhancedplayerlist.client;
 
 import com.enhancedplayerlist.Config;
-import com.enhancedplayerlist.data.PlayerStatsData;
+import com.enhancedplayerlist.data.StatsTable;
 import net.minecraft.network.chat.Component;
 import net.minecraft.ChatFormatting;
 import net.neoforged.api.distmarker.Dist;
@@ -12,68 +12,78 @@ import com.mojang.logging.LogUtils;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 
+/**
+ * Formats stat cells. Formatted maps are cached per player and stay valid until the
+ * entry's revision or the config changes, or until the last seen text would read
+ * differently. The cache is bounded and evicts the least recently used player.
+ */
 @OnlyIn(Dist.CLIENT)
 public class PlayerListRenderer {
     private static final Logger LOGGER = LogUtils.getLogger();
-    private static final Object2ObjectMap<UUID, Map<String, Component>> STATS_CACHE = new Object2ObjectOpenHashMap<>();
-    private static final Map<Long, String> TIME_FORMAT_CACHE = new HashMap<>();
-    private static long lastCacheClean = System.currentTimeMillis();
-    private static final long CACHE_CLEANUP_INTERVAL = 30000; // 30 seconds
-
-    public static Map<String, Component> getPlayerStatsMap(UUID playerId) {
-        if (playerId == null) {
-            LOGGER.debug("PlayerListRenderer: playerId is null");
+    private static final int MAX_CACHED_PLAYERS = 2048;
+    private static final String KM_SUFFIX = " km";
+    private static final String HEART_SUFFIX = " ♥";
+    // Iteration order is access order, oldest first
+    private static final Object2ObjectLinkedOpenHashMap<UUID, CachedStats> STATS_CACHE =
+            new Object2ObjectLinkedOpenHashMap<>();
+    private static long cacheHits;
+    private static long cacheMisses;
+    private static long cacheEvictions;
+
+    private static final class CachedStats {
+        long revision;
+        int configVersion;
+        // When time-based text (last seen) goes stale, Long.MAX_VALUE if it never does
+        long expiresAt;
+        Map<String, Component> stats;
+    }
+
+    /**
+     * Formats the visible stats of one slot of a published table.
+     */
+    public static Map<String, Component> getPlayerStatsMap(StatsTable table, int slot) {
+        if (slot < 0 || slot >= table.size()) {
+            LOGGER.debug("PlayerListRenderer: slot {} is out of range", slot);
             return Collections.emptyMap();
         }
 
-        // Clean cache periodically
         long now = System.currentTimeMillis();
-        if (now - lastCacheClean > CACHE_CLEANUP_INTERVAL) {
-            STATS_CACHE.clear();
-            TIME_FORMAT_CACHE.clear();
-            lastCacheClean = now;
-        }
-
-        // Return cached value if exists
-        Map<String, Component> cached = STATS_CACHE.get(playerId);
-        if (cached != null) return cached;
-
-        PlayerStatsData stats = ClientStatsManager.getPlayerStats().get(playerId);
-        if (stats == null) {
-            LOGGER.debug("PlayerListRenderer: No stats found for player {}", playerId);
-            return Collections.emptyMap();
+        UUID playerId = table.getUuid(slot);
+        CachedStats cached = STATS_CACHE.getAndMoveToLast(playerId);
+        if (cached != null && cached.revision == table.getRevision(slot)
+                && cached.configVersion == Config.version && now < cached.expiresAt) {
+            cacheHits++;
+            return cached.stats;
         }
+        cacheMisses++;
 
+        long expiresAt = Long.MAX_VALUE;
         Map<String, Component> statMap = new HashMap<>();
         for (String stat : Config.visibleStats) {
             try {
                 Component value = switch (stat.toLowerCase()) {
-                    case "playtime" -> formatValue(formatTime(stats.getPlayTime()));
-                    case "deaths" -> formatValue(String.valueOf(stats.getDeaths()));
+                    case "playtime" -> formatValue(StatFormatter.formatDuration(table.getPlayTime(slot), Config.compactMode));
+                    case "deaths" -> formatValue(StatFormatter.formatLong(table.getDeaths(slot), ""));
                     case "distance" -> {
-                        double km = (stats.getBlocksWalked() / 100.0) / 1000.0;
-                        yield formatValue(Config.compactMode ? 
-                            String.format("%.1f", km) : 
-                            String.format("%.1f km", km));
+                        double km = (table.getBlocksWalked(slot) / 100.0) / 1000.0;
+                        yield formatValue(StatFormatter.formatFixed(km, 1, Config.compactMode ? "" : KM_SUFFIX));
+                    }
+                    case "jumps" -> formatValue(StatFormatter.formatLong(table.getJumps(slot), ""));
+                    case "dmgdealt" -> formatValue(formatDamage(table.getDamageDealt(slot)));
+                    case "dmgtaken" -> formatValue(formatDamage(table.getDamageTaken(slot)));
+                    case "lastseen" -> {
+                        if (table.isOnline(slot)) yield Component.literal("Online").withStyle(ChatFormatting.GREEN);
+
+                        expiresAt = lastSeenExpiry(table.getLastSeen(slot), now);
+                        yield formatValue(formatLastSeen(table.getLastSeen(slot), now));
                     }
-                    case "jumps" -> formatValue(String.valueOf(stats.getJumps()));
-                    case "dmgdealt" -> formatValue(Config.compactMode ? 
-                        String.format("%.0f", stats.getDamageDealt()) :
-                        String.format("%.0f ♥", stats.getDamageDealt() / 2));
-                    case "dmgtaken" -> formatValue(Config.compactMode ? 
-                        String.format("%.0f", stats.getDamageTaken()) :
-                        String.format("%.0f ♥", stats.getDamageTaken() / 2));
-                    case "lastseen" -> stats.isOnline() ? 
-                        Component.literal("Online").withStyle(ChatFormatting.GREEN) :
-                        formatValue(formatLastSeen(stats.getLastSeen()));
                     default -> Component.empty();
                 };
 
                 if (value != Component.empty()) {
-                    if (!stats.isOnline() && Config.grayOutOffline) {
+                    if (!table.isOnline(slot) && Config.grayOutOffline) {
                         value = value.copy().withStyle(ChatFormatting.GRAY);
                     }
                     statMap.put(stat, value);
@@ -83,66 +93,68 @@ public class PlayerListRenderer {
             }
         }
 
-        // Cache the result
-        STATS_CACHE.put(playerId, statMap);
+        if (cached == null) {
+            if (STATS_CACHE.size() >= MAX_CACHED_PLAYERS) {
+                STATS_CACHE.removeFirst();
+                cacheEvictions++;
+            }
+            cached = new CachedStats();
+            STATS_CACHE.putAndMoveToLast(playerId, cached);
+        }
+        cached.revision = table.getRevision(slot);
+        cached.configVersion = Config.version;
+        cached.expiresAt = expiresAt;
+        cached.stats = statMap;
         return statMap;
     }
 
-    private static String formatTime(long ticks) {
-        if (ticks <= 0) return "0h";
-
-        Long cacheKey = ticks;
-        String cached = TIME_FORMAT_CACHE.get(cacheKey);
-        if (cached != null) return cached;
-
-        long totalSeconds = ticks / 20;
-        String result;
-
-        if (Config.compactMode) {
-            result = TimeUnit.SECONDS.toHours(totalSeconds) + "h";
-        } else {
-            long days = TimeUnit.SECONDS.toDays(totalSeconds);
-            long hours = TimeUnit.SECONDS.toHours(totalSeconds) % 24;
-            long minutes = TimeUnit.SECONDS.toMinutes(totalSeconds) % 60;
-
-            StringBuilder time = new StringBuilder();
-            if (days > 0) time.append(days).append("d ");
-            if (hours > 0 || days > 0) time.append(hours).append("h ");
-            if (minutes > 0) time.append(minutes).append("m");
+    /**
+     * Drops every formatted entry. Revisions are only unique per server, so this is
+     * needed when the client disconnects.
+     */
+    public static void clearCache() {
+        STATS_CACHE.clear();
+    }
 
-            result = time.toString().trim();
-        }
+    public static long getCacheHits() { return cacheHits; }
+    public static long getCacheMisses() { return cacheMisses; }
+    public static long getCacheEvictions() { return cacheEvictions; }
+    public static int getCacheSize() { return STATS_CACHE.size(); }
 
-        TIME_FORMAT_CACHE.put(cacheKey, result);
-        return result;
+    private static String formatDamage(float damage) {
+        // Damage is in half hearts
+        return Config.compactMode ? StatFormatter.formatFixed(damage, 0, "")
+                : StatFormatter.formatFixed(damage / 2, 0, HEART_SUFFIX);
     }
 
-    private static String formatLastSeen(long timestamp) {
+    private static String formatLastSeen(long timestamp, long now) {
         if (timestamp <= 0) return "Never";
 
-        long now = System.currentTimeMillis();
         long diff = now - timestamp;
 
         if (diff < 0) return "Unknown";
 
-        String result;
-        if (Config.compactMode) {
-            if (diff < TimeUnit.MINUTES.toMillis(1)) result = "now";
-            else if (diff < TimeUnit.HOURS.toMillis(1)) 
-                result = (diff / TimeUnit.MINUTES.toMillis(1)) + "m";
-            else if (diff < TimeUnit.DAYS.toMillis(1)) 
-                result = (diff / TimeUnit.HOURS.toMillis(1)) + "h";
-            else result = (diff / TimeUnit.DAYS.toMillis(1)) + "d";
-        } else {
-            if (diff < TimeUnit.MINUTES.toMillis(1)) result = "Just now";
-            else if (diff < TimeUnit.HOURS.toMillis(1)) 
-                result = (diff / TimeUnit.MINUTES.toMillis(1)) + " mins ago";
-            else if (diff < TimeUnit.DAYS.toMillis(1)) 
-                result = (diff / TimeUnit.HOURS.toMillis(1)) + " hours ago";
-            else result = (diff / TimeUnit.DAYS.toMillis(1)) + " days ago";
-        }
+        boolean compact = Config.compactMode;
+        if (diff < TimeUnit.MINUTES.toMillis(1)) return compact ? "now" : "Just now";
+        if (diff < TimeUnit.HOURS.toMillis(1))
+            return StatFormatter.formatLong(diff / TimeUnit.MINUTES.toMillis(1), compact ? "m" : " mins ago");
+        if (diff < TimeUnit.DAYS.toMillis(1))
+            return StatFormatter.formatLong(diff / TimeUnit.HOURS.toMillis(1), compact ? "h" : " hours ago");
+        return StatFormatter.formatLong(diff / TimeUnit.DAYS.toMillis(1), compact ? "d" : " days ago");
+    }
+
+    /**
+     * Returns when {@link #formatLastSeen} next reads differently for this timestamp.
+     */
+    private static long lastSeenExpiry(long timestamp, long now) {
+        long diff = now - timestamp;
+        if (timestamp <= 0) return Long.MAX_VALUE;
+        if (diff < 0) return timestamp;
 
-        return result;
+        long unit = diff < TimeUnit.HOURS.toMillis(1) ? TimeUnit.MINUTES.toMillis(1)
+                : diff < TimeUnit.DAYS.toMillis(1) ? TimeUnit.HOURS.toMillis(1)
+                : TimeUnit.DAYS.toMillis(1);
+        return timestamp + (diff / unit + 1) * unit;
     }
 
     private static Component formatValue(String value) {
@@ -0,0 +1,161 @@
+// src/main/java/com/enhancedplayerlist/client/StatFormatter.java
+package com.enhancedplayerlist.client;
+
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.api.distmarker.OnlyIn;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Allocation-light number and duration text for stat cells. Digits are written
+ * backwards into one reusable char buffer and the only allocation is the resulting
+ * String. Decimals are fixed-point with half-up rounding like {@code %.Nf}, and use
+ * the decimal separator of the default format locale. Not thread-safe: only used from
+ * the render thread.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class StatFormatter {
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1000};
+    private static final long TICKS_PER_MINUTE = 20 * 60;
+    private static final long TICKS_PER_HOUR = TICKS_PER_MINUTE * 60;
+    private static final long TICKS_PER_DAY = TICKS_PER_HOUR * 24;
+    // Beyond this the scaled value no longer has a fractional part to round
+    private static final double MAX_FIXED = 1e15;
+    // How close to a tie the scaled value must be to check it in decimal
+    private static final int TIE_ULPS = 16;
+
+    // Long.MIN_VALUE plus a sign, decimals and the longest duration
+    private static final char[] buffer = new char[64];
+    private static int length;
+
+    private static Locale separatorLocale;
+    private static char decimalSeparator;
+
+    private StatFormatter() {}
+
+    /**
+     * Formats a whole number followed by a suffix, e.g. {@code "12 mins ago"}.
+     */
+    public static String formatLong(long value, String suffix) {
+        length = 0;
+        appendLong(value);
+        appendSuffix(suffix);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Formats {@code value} with a fixed number of decimals (0 to 3) followed by a suffix,
+     * matching {@code String.format("%.Nf" + suffix, value)}.
+     */
+    public static String formatFixed(double value, int decimals, String suffix) {
+        length = 0;
+        if (!(Math.abs(value) < MAX_FIXED)) {
+            // NaN, infinite or out of fixed-point range, leave it to the JDK
+            return String.format("%." + decimals + "f", value) + suffix;
+        }
+
+        long scale = POWERS_OF_TEN[decimals];
+        double magnitude = Math.abs(value) * scale;
+        long scaled = Math.round(magnitude);
+        // Near a tie the binary product can land on either side of it. String.format
+        // rounds the shortest decimal form of the value, so these few go the same way
+        if (Math.abs(magnitude - Math.floor(magnitude) - 0.5) <= Math.ulp(magnitude) * TIE_ULPS) {
+            scaled = new BigDecimal(Double.toString(Math.abs(value)))
+                    .setScale(decimals, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+        // Like %f, a negative value keeps its sign even when it rounds to zero
+        if (Double.doubleToRawLongBits(value) < 0) buffer[length++] = '-';
+
+        appendLong(scaled / scale);
+        if (decimals > 0) {
+            buffer[length++] = decimalSeparator();
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                buffer[length++] = (char) ('0' + fraction / digit % 10);
+            }
+        }
+        appendSuffix(suffix);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Formats a tick count as {@code "1d 2h 3m"}, or as whole hours in compact mode.
+     * Zero parts are left out, so under a minute gives an empty string.
+     */
+    public static String formatDuration(long ticks, boolean compact) {
+        if (ticks <= 0) return "0h";
+
+        length = 0;
+        if (compact) {
+            appendLong(ticks / TICKS_PER_HOUR);
+            buffer[length++] = 'h';
+            return new String(buffer, 0, length);
+        }
+
+        long days = ticks / TICKS_PER_DAY;
+        long hours = ticks / TICKS_PER_HOUR % 24;
+        long minutes = ticks / TICKS_PER_MINUTE % 60;
+        if (days > 0) {
+            appendLong(days);
+            buffer[length++] = 'd';
+        }
+        if (hours > 0 || days > 0) {
+            if (length > 0) buffer[length++] = ' ';
+            appendLong(hours);
+            buffer[length++] = 'h';
+        }
+        if (minutes > 0) {
+            if (length > 0) buffer[length++] = ' ';
+            appendLong(minutes);
+            buffer[length++] = 'm';
+        }
+        return length == 0 ? "" : new String(buffer, 0, length);
+    }
+
+    private static void appendLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            appendSuffix(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+
+        // Write the digits backwards from their end position
+        int end = length + digitCount(value);
+        int position = end;
+        do {
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        length = end;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static void appendSuffix(String suffix) {
+        suffix.getChars(0, suffix.length(), buffer, length);
+        length += suffix.length();
+    }
+
+    private static char decimalSeparator() {
+        // Resolved again only when the default locale is swapped
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (locale != separatorLocale) {
+            decimalSeparator = DecimalFormatSymbols.getInstance(locale).getDecimalSeparator();
+            separatorLocale = locale;
+        }
+        return decimalSeparator;
+    }
+}
@@ -0,0 +1,24 @@
+// src/main/java/com/enhancedplayerlist/client/StatsSnapshot.java
+package com.enhancedplayerlist.client;
+
+import com.enhancedplayerlist.data.StatsTable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable view of the client's stats as of one applied snapshot or delta.
+ * {@code version} increases with every publication, so readers can key caches on it.
+ * {@code changes} describes what differs from version - 1, or is null when the table
+ * was replaced wholesale (server snapshot or reset). {@code offlineOffset} is the
+ * position of the held page of offline players among all {@code offlineCount}.
+ */
+public record StatsSnapshot(long version, StatsTable table, int offlineCount, int offlineOffset, Changes changes) {
+    public static final StatsSnapshot EMPTY = new StatsSnapshot(0, new StatsTable().snapshot(), 0, 0, null);
+
+    /**
+     * Entries added or updated by a delta. {@code slotsMoved} is set when entries were
+     * removed, since removal moves another entry into the freed slot.
+     */
+    public record Changes(List<UUID> changed, boolean slotsMoved) {}
+}
@@ -2,197 +2,149 @@
 package com.enhancedplayerlist.client.event;
 
 import com.enhancedplayerlist.Config;
-import com.enhancedplayerlist.client.PlayerListRenderer;
 import com.enhancedplayerlist.client.ClientStatsManager;
-import com.enhancedplayerlist.data.PlayerStatsData;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import com.enhancedplayerlist.client.FontWidthCache;
+import com.enhancedplayerlist.client.PlayerListLayout;
+import com.enhancedplayerlist.client.PlayerListModel;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.network.chat.Component;
-import net.minecraft.client.multiplayer.PlayerInfo;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.client.event.InputEvent;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
 import net.neoforged.neoforge.client.event.RenderGuiEvent;
 import net.neoforged.neoforge.common.NeoForge;
-
-import java.util.*;
+import org.lwjgl.glfw.GLFW;
 
 public class ClientEventHandler {
     private static final Minecraft minecraft = Minecraft.getInstance();
-    private static final int ROW_HEIGHT = 9;
-    private static final int STAT_SPACING = 8;
-    private static final int NAME_COLUMN_WIDTH = 100;
-    private static final int PADDING = 5;
-    private static final int BACKGROUND_COLOR = 0x80000000;
-
-    // Cache for font widths
-    private static final Object2IntMap<String> fontWidthCache = new Object2IntOpenHashMap<>();
-    private static Map<String, Integer> lastColumnWidths = new HashMap<>();
-    private static long lastWidthCalculation = 0;
-    private static final long WIDTH_CACHE_DURATION = 500; // ms
-
-    public static void init() {
+    private static final int SCROLL_STEP = 3;
+
+    // Rows are prebuilt and only rebuilt when the snapshot or config changes
+    private static final PlayerListModel model = new PlayerListModel();
+    // Positions only change with the rows or the screen size
+    private static final PlayerListLayout layout = new PlayerListLayout();
+    // Whether the server was last told the player list is open
+    private static boolean listOpen;
+
+    public static void init(IEventBus modEventBus) {
         NeoForge.EVENT_BUS.register(ClientEventHandler.class);
+        modEventBus.addListener(ClientEventHandler::onRegisterReloadListeners);
     }
 
-    @SubscribeEvent
-    public static void onRenderGui(RenderGuiEvent.Post event) {
-        if (minecraft.player == null || !minecraft.isWindowActive() || !minecraft.options.keyPlayerList.isDown()) {
-            return;
-        }
+    private static void onRegisterReloadListeners(RegisterClientReloadListenersEvent event) {
+        // Resource packs can replace the font, so measured glyph widths and the drawn overlay go stale
+        event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> {
+            FontWidthCache.clear();
+            layout.releaseCache();
+        });
+    }
 
-        var player = minecraft.player;
-        if (player == null || player.connection == null)
-            return;
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        // Ask for the page of offline players this client is configured to show
+        ClientStatsManager.requestView(Config.offlineSortOrder, 0, Config.offlinePageSize);
+    }
 
-        GuiGraphics graphics = event.getGuiGraphics();
-        int screenWidth = minecraft.getWindow().getGuiScaledWidth();
-        int screenHeight = minecraft.getWindow().getGuiScaledHeight();
-
-        // Get all players
-        Collection<PlayerInfo> onlinePlayers = player.connection.getListedOnlinePlayers();
-        List<PlayerStatsData> allPlayers = new ArrayList<>();
-
-        // Add online players
-        for (PlayerInfo info : onlinePlayers) {
-            UUID playerId = info.getProfile().getId();
-            PlayerStatsData data = ClientStatsManager.getPlayerStats().get(playerId);
-            if (data != null)
-                allPlayers.add(data);
-        }
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        ClientStatsManager.reset();
+        layout.scrollTo(0);
+        layout.releaseCache();
+        listOpen = false;
+    }
 
-        // Add offline players if enabled
-        if (Config.showOfflinePlayers) {
-            ClientStatsManager.getPlayerStats().values().stream()
-                    .filter(data -> !data.isOnline())
-                    .forEach(allPlayers::add);
+    @SubscribeEvent
+    public static void onClientTick(ClientTickEvent.Post event) {
+        // The server only streams updates while the list is open, so report every change
+        boolean open = minecraft.player != null && minecraft.options.keyPlayerList.isDown();
+        if (open != listOpen && minecraft.getConnection() != null) {
+            listOpen = open;
+            ClientStatsManager.setListOpen(open);
         }
+    }
 
-        if (allPlayers.isEmpty())
-            return;
+    @SubscribeEvent
+    public static void onMouseScroll(InputEvent.MouseScrollingEvent event) {
+        if (!isOverlayOpen() || event.getScrollDeltaY() == 0) return;
 
-        // Calculate or retrieve cached column widths
-        List<String> statColumns = new ArrayList<>(Config.visibleStats);
-        Map<String, Integer> columnWidths = getColumnWidths(allPlayers, statColumns);
-
-        int totalStatsWidth = calculateTotalWidth(columnWidths);
-        int totalWidth = NAME_COLUMN_WIDTH + totalStatsWidth + (PADDING * 3);
-
-        // Center everything
-        int startX = (screenWidth - totalWidth) / 2;
-        int backgroundY = screenHeight / 4;
-        int playerCount = allPlayers.size();
-        int backgroundHeight = (playerCount + 1) * ROW_HEIGHT + (PADDING * 2);
-
-        // Draw background
-        graphics.fill(startX, backgroundY, startX + totalWidth, backgroundY + backgroundHeight, BACKGROUND_COLOR);
-
-        // Draw headers
-        int headerY = backgroundY + PADDING;
-        graphics.drawString(minecraft.font, "Players", startX + PADDING, headerY, 0xFFFFFF);
-
-        // Draw stat headers
-        int statHeaderX = startX + NAME_COLUMN_WIDTH + (PADDING * 2);
-        for (String stat : statColumns) {
-            graphics.drawString(
-                    minecraft.font,
-                    formatStatHeader(stat),
-                    statHeaderX,
-                    headerY,
-                    0xFFFFFF);
-            statHeaderX += columnWidths.get(stat) + STAT_SPACING;
+        // Only take the wheel from the hotbar when the list actually scrolls
+        int rows = event.getScrollDeltaY() > 0 ? -SCROLL_STEP : SCROLL_STEP;
+        if (layout.scroll(rows) | turnOfflinePage(rows)) {
+            event.setCanceled(true);
         }
-
-        // Draw player rows
-        renderPlayerRows(graphics, allPlayers, startX, headerY + ROW_HEIGHT + PADDING, columnWidths, statColumns);
     }
 
-    private static void renderPlayerRows(GuiGraphics graphics, List<PlayerStatsData> players,
-            int startX, int startY, Map<String, Integer> columnWidths,
-            List<String> statColumns) {
-        int rowY = startY;
-        for (PlayerStatsData playerData : players) {
-            int nameColor = playerData.isOnline() ? 0xFFFFFF : (Config.grayOutOffline ? 0x808080 : 0xFFFFFF);
-
-            // Draw player name
-            graphics.drawString(
-                    minecraft.font,
-                    playerData.getPlayerName(),
-                    startX + PADDING,
-                    rowY,
-                    nameColor);
-
-            // Draw stats
-            int statX = startX + NAME_COLUMN_WIDTH + (PADDING * 2);
-            Map<String, Component> stats = PlayerListRenderer.getPlayerStatsMap(UUID.fromString(playerData.getUuid()));
-
-            for (String stat : statColumns) {
-                Component value = stats.get(stat);
-                if (value != null) {
-                    graphics.drawString(
-                            minecraft.font,
-                            value,
-                            statX,
-                            rowY,
-                            nameColor);
-                    statX += columnWidths.get(stat) + STAT_SPACING;
-                }
+    @SubscribeEvent
+    public static void onKey(InputEvent.Key event) {
+        if (event.getAction() == GLFW.GLFW_RELEASE || !isOverlayOpen()) return;
+
+        switch (event.getKey()) {
+            case GLFW.GLFW_KEY_PAGE_UP -> {
+                layout.scroll(-layout.getVisibleRows());
+                turnOfflinePage(-1);
+            }
+            case GLFW.GLFW_KEY_PAGE_DOWN -> {
+                layout.scroll(layout.getVisibleRows());
+                turnOfflinePage(1);
             }
-            rowY += ROW_HEIGHT;
+            case GLFW.GLFW_KEY_HOME -> layout.scrollTo(0);
+            case GLFW.GLFW_KEY_END -> layout.scrollTo(Integer.MAX_VALUE);
+            default -> {}
         }
     }
 
-    private static Map<String, Integer> getColumnWidths(Collection<PlayerStatsData> players, List<String> statColumns) {
-        long now = System.currentTimeMillis();
-        if (!lastColumnWidths.isEmpty() && now - lastWidthCalculation < WIDTH_CACHE_DURATION) {
-            return lastColumnWidths;
+    /**
+     * Asks for the neighbouring page of offline players when scrolling past either end
+     * of the page held, which then takes its place. Returns true if it asked.
+     */
+    private static boolean turnOfflinePage(int direction) {
+        int pageSize = Config.offlinePageSize;
+        if (!Config.showOfflinePlayers || Config.listOnlineOnly || pageSize == 0
+                || model.getRowCount() == 0 || ClientStatsManager.isViewPending()) {
+            return false;
         }
 
-        Map<String, Integer> columnWidths = calculateColumnWidths(players, statColumns);
-        lastColumnWidths = columnWidths;
-        lastWidthCalculation = now;
-        return columnWidths;
-    }
-
-    private static Map<String, Integer> calculateColumnWidths(Collection<PlayerStatsData> players,
-            List<String> statColumns) {
-        Map<String, Integer> columnWidths = new HashMap<>();
-
-        // Initialize with header widths
-        for (String stat : statColumns) {
-            Component header = Component.literal(formatStatHeader(stat));
-            columnWidths.put(stat, getFontWidth(header.getString()));
+        int offset = ClientStatsManager.getOfflineOffset();
+        int onlineRows = model.getRowCount() - model.getOfflineRowCount();
+        if (direction > 0 && layout.isAtEnd() && offset + pageSize < model.getOfflineTotal()) {
+            ClientStatsManager.requestView(Config.offlineSortOrder, offset + pageSize, pageSize);
+            layout.scrollTo(onlineRows);
+            return true;
         }
-
-        // Calculate widths from player stats
-        for (PlayerStatsData playerData : players) {
-            Map<String, Component> stats = PlayerListRenderer.getPlayerStatsMap(UUID.fromString(playerData.getUuid()));
-
-            for (String stat : statColumns) {
-                Component value = stats.get(stat);
-                if (value != null) {
-                    columnWidths.put(stat,
-                            Math.max(columnWidths.get(stat), getFontWidth(value.getString())));
-                }
-            }
+        if (direction < 0 && offset > 0 && layout.getFirstRow() <= onlineRows) {
+            ClientStatsManager.requestView(Config.offlineSortOrder, Math.max(0, offset - pageSize), pageSize);
+            layout.scrollTo(Integer.MAX_VALUE);
+            return true;
         }
-
-        return columnWidths;
+        return false;
     }
 
-    private static int getFontWidth(String text) {
-        return fontWidthCache.computeIfAbsent(text,
-                key -> minecraft.font.width((String) key) // Explicit cast
-        );
+    private static boolean isOverlayOpen() {
+        return minecraft.player != null && minecraft.screen == null && minecraft.options.keyPlayerList.isDown();
     }
 
-    private static int calculateTotalWidth(Map<String, Integer> columnWidths) {
-        return columnWidths.values().stream().mapToInt(Integer::intValue).sum()
-                + (columnWidths.size() * STAT_SPACING);
-    }
+    @SubscribeEvent
+    public static void onRenderGui(RenderGuiEvent.Post event) {
+        if (minecraft.player == null || !minecraft.isWindowActive() || !minecraft.options.keyPlayerList.isDown()) {
+            return;
+        }
 
-    private static String formatStatHeader(String stat) {
-        return Config.compactMode ? stat.substring(0, Math.min(3, stat.length())).toUpperCase()
-                : stat.substring(0, 1).toUpperCase() + stat.substring(1);
+        var player = minecraft.player;
+        if (player == null || player.connection == null)
+            return;
+
+        // One published snapshot for the whole frame
+        model.update(ClientStatsManager.getSnapshot(), player.connection.getListedOnlinePlayers(), minecraft.font);
+        if (model.getRowCount() == 0)
+            return;
+
+        GuiGraphics graphics = event.getGuiGraphics();
+        layout.update(model, minecraft.getWindow().getGuiScaledWidth(), minecraft.getWindow().getGuiScaledHeight(),
+                minecraft.font);
+        layout.draw(graphics, model, minecraft.font, Config.cacheOverlayTexture);
     }
-}
\ No newline at end of file
+}
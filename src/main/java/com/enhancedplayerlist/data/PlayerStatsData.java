@@ -1,16 +1,32 @@
 // src/main/java/com/enhancedplayerlist/data/PlayerStatsData.java
 package com.enhancedplayerlist.data;
 
-import com.google.gson.JsonObject;
+import net.minecraft.Util;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
 import io.netty.buffer.ByteBuf;
 import javax.annotation.Nonnull;
 import java.util.Objects;
+import java.util.UUID;
 
 public class PlayerStatsData {
+    // Field bits used for dirty tracking and partial encoding
+    public static final int FIELD_NAME = 1;
+    public static final int FIELD_ONLINE = 1 << 1;
+    public static final int FIELD_LAST_SEEN = 1 << 2;
+    public static final int FIELD_PLAY_TIME = 1 << 3;
+    public static final int FIELD_DEATHS = 1 << 4;
+    public static final int FIELD_TIME_SINCE_DEATH = 1 << 5;
+    public static final int FIELD_MOB_KILLS = 1 << 6;
+    public static final int FIELD_BLOCKS_WALKED = 1 << 7;
+    public static final int FIELD_BLOCKS_MINED = 1 << 8;
+    public static final int FIELD_JUMPS = 1 << 9;
+    public static final int FIELD_DAMAGE_DEALT = 1 << 10;
+    public static final int FIELD_DAMAGE_TAKEN = 1 << 11;
+    public static final int ALL_FIELDS = (1 << 12) - 1;
+
     private String playerName = "";
-    private String uuid = "";
+    private UUID uuid = Util.NIL_UUID;
     private boolean isOnline;
     private long lastSeen;
     private long playTime;
@@ -22,6 +38,13 @@ public class PlayerStatsData {
     private int jumps;
     private float damageDealt;
     private float damageTaken;
+    private long revision;
+
+    // Fields changed since the last revision stamp
+    private int pendingMask;
+    // Fields changed in the revisions after dirtySince, or the fields carried by a delta copy
+    private int dirtyMask;
+    private long dirtySince;
 
     private PlayerStatsData() {}
 
@@ -37,8 +60,8 @@ public class PlayerStatsData {
             return this;
         }
 
-        public Builder uuid(String uuid) {
-            data.uuid = uuid != null ? uuid : "";
+        public Builder uuid(UUID uuid) {
+            data.uuid = uuid != null ? uuid : Util.NIL_UUID;
             return this;
         }
 
@@ -100,19 +123,23 @@ public class PlayerStatsData {
             return this;
         }
 
+        public Builder revision(long revision) {
+            data.revision = revision;
+            return this;
+        }
+
         public PlayerStatsData build() {
             return data;
         }
     }
 
-    // Split codecs for network optimization
+    // Split codecs for network optimization. The UUID is not encoded here, packets
+    // identify entries by session index and the receiver restores it with setUuid
     private static final StreamCodec<ByteBuf, PlayerStatsData> BASIC_DATA_CODEC = StreamCodec.composite(
             ByteBufCodecs.STRING_UTF8, PlayerStatsData::getPlayerName,
-            ByteBufCodecs.STRING_UTF8, PlayerStatsData::getUuid,
             ByteBufCodecs.BOOL, PlayerStatsData::isOnline,
-            (name, uuid, online) -> builder()
+            (name, online) -> builder()
                     .playerName(name)
-                    .uuid(uuid)
                     .online(online)
                     .build());
 
@@ -145,6 +172,7 @@ public class PlayerStatsData {
             ByteBufCodecs.VAR_LONG.encode(buf, value.getLastSeen());
             ByteBufCodecs.VAR_LONG.encode(buf, value.getBlocksMined());
             ByteBufCodecs.FLOAT.encode(buf, value.getDamageTaken());
+            ByteBufCodecs.VAR_LONG.encode(buf, value.getRevision());
         }
 
         @Override
@@ -155,7 +183,6 @@ public class PlayerStatsData {
             // Decode basic data
             PlayerStatsData basic = BASIC_DATA_CODEC.decode(buf);
             builder.playerName(basic.getPlayerName())
-                   .uuid(basic.getUuid())
                    .online(basic.isOnline());
 
             // Decode stats data
@@ -174,70 +201,188 @@ public class PlayerStatsData {
             return builder.lastSeen(ByteBufCodecs.VAR_LONG.decode(buf))
                          .blocksMined(ByteBufCodecs.VAR_LONG.decode(buf))
                          .damageTaken(ByteBufCodecs.FLOAT.decode(buf))
+                         .revision(ByteBufCodecs.VAR_LONG.decode(buf))
                          .build();
         }
     };
 
-    public void loadFromJson(JsonObject json) {
-        try {
-            JsonObject stats = json.getAsJsonObject("stats");
-            if (stats == null) return;
-
-            JsonObject customStats = stats.getAsJsonObject("minecraft:custom");
-            if (customStats == null) return;
-
-            this.playTime = getStatLong(customStats, "minecraft:play_time", 0L);
-            this.deaths = getStatInt(customStats, "minecraft:deaths", 0);
-            this.timeSinceDeath = getStatLong(customStats, "minecraft:time_since_death", 0L);
-            this.mobKills = getStatInt(customStats, "minecraft:mob_kills", 0);
-            this.blocksWalked = getStatLong(customStats, "minecraft:walk_one_cm", 0L) +
-                    getStatLong(customStats, "minecraft:sprint_one_cm", 0L) +
-                    getStatLong(customStats, "minecraft:walk_on_water_one_cm", 0L) +
-                    getStatLong(customStats, "minecraft:walk_under_water_one_cm", 0L);
-            this.jumps = getStatInt(customStats, "minecraft:jump", 0);
-            this.damageDealt = getStatFloat(customStats, "minecraft:damage_dealt", 0f);
-            this.damageTaken = getStatFloat(customStats, "minecraft:damage_taken", 0f);
-
-            JsonObject minedStats = stats.getAsJsonObject("minecraft:mined");
-            if (minedStats != null) {
-                this.blocksMined = minedStats.entrySet().stream()
-                        .mapToLong(entry -> getStatLong(minedStats, entry.getKey(), 0L))
-                        .sum();
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading player stats: " + e.getMessage());
+    /**
+     * Writes a presence mask followed by only the fields it names. Used for delta
+     * copies created by {@link #copyFields(int)}; the decoded value carries the same
+     * mask and is merged with {@link #applyChanges(PlayerStatsData)}.
+     */
+    public static final StreamCodec<ByteBuf, PlayerStatsData> DELTA_STREAM_CODEC = new StreamCodec<>() {
+        @Override
+        public void encode(@Nonnull ByteBuf buf, @Nonnull PlayerStatsData value) {
+            int mask = value.dirtyMask;
+            ByteBufCodecs.VAR_INT.encode(buf, mask);
+            if ((mask & FIELD_NAME) != 0) ByteBufCodecs.STRING_UTF8.encode(buf, value.playerName);
+            if ((mask & FIELD_ONLINE) != 0) ByteBufCodecs.BOOL.encode(buf, value.isOnline);
+            if ((mask & FIELD_LAST_SEEN) != 0) ByteBufCodecs.VAR_LONG.encode(buf, value.lastSeen);
+            if ((mask & FIELD_PLAY_TIME) != 0) ByteBufCodecs.VAR_LONG.encode(buf, value.playTime);
+            if ((mask & FIELD_DEATHS) != 0) ByteBufCodecs.VAR_INT.encode(buf, value.deaths);
+            if ((mask & FIELD_TIME_SINCE_DEATH) != 0) ByteBufCodecs.VAR_LONG.encode(buf, value.timeSinceDeath);
+            if ((mask & FIELD_MOB_KILLS) != 0) ByteBufCodecs.VAR_INT.encode(buf, value.mobKills);
+            if ((mask & FIELD_BLOCKS_WALKED) != 0) ByteBufCodecs.VAR_LONG.encode(buf, value.blocksWalked);
+            if ((mask & FIELD_BLOCKS_MINED) != 0) ByteBufCodecs.VAR_LONG.encode(buf, value.blocksMined);
+            if ((mask & FIELD_JUMPS) != 0) ByteBufCodecs.VAR_INT.encode(buf, value.jumps);
+            if ((mask & FIELD_DAMAGE_DEALT) != 0) ByteBufCodecs.FLOAT.encode(buf, value.damageDealt);
+            if ((mask & FIELD_DAMAGE_TAKEN) != 0) ByteBufCodecs.FLOAT.encode(buf, value.damageTaken);
+            ByteBufCodecs.VAR_LONG.encode(buf, value.revision);
         }
-    }
 
-    private static long getStatLong(JsonObject json, String key, long defaultValue) {
-        try {
-            return json.has(key) ? json.get(key).getAsLong() : defaultValue;
-        } catch (Exception e) {
-            return defaultValue;
+        @Override
+        @Nonnull
+        public PlayerStatsData decode(@Nonnull ByteBuf buf) {
+            PlayerStatsData data = new PlayerStatsData();
+            int mask = ByteBufCodecs.VAR_INT.decode(buf);
+            data.dirtyMask = mask;
+            if ((mask & FIELD_NAME) != 0) data.playerName = ByteBufCodecs.STRING_UTF8.decode(buf);
+            if ((mask & FIELD_ONLINE) != 0) data.isOnline = ByteBufCodecs.BOOL.decode(buf);
+            if ((mask & FIELD_LAST_SEEN) != 0) data.lastSeen = ByteBufCodecs.VAR_LONG.decode(buf);
+            if ((mask & FIELD_PLAY_TIME) != 0) data.playTime = ByteBufCodecs.VAR_LONG.decode(buf);
+            if ((mask & FIELD_DEATHS) != 0) data.deaths = ByteBufCodecs.VAR_INT.decode(buf);
+            if ((mask & FIELD_TIME_SINCE_DEATH) != 0) data.timeSinceDeath = ByteBufCodecs.VAR_LONG.decode(buf);
+            if ((mask & FIELD_MOB_KILLS) != 0) data.mobKills = ByteBufCodecs.VAR_INT.decode(buf);
+            if ((mask & FIELD_BLOCKS_WALKED) != 0) data.blocksWalked = ByteBufCodecs.VAR_LONG.decode(buf);
+            if ((mask & FIELD_BLOCKS_MINED) != 0) data.blocksMined = ByteBufCodecs.VAR_LONG.decode(buf);
+            if ((mask & FIELD_JUMPS) != 0) data.jumps = ByteBufCodecs.VAR_INT.decode(buf);
+            if ((mask & FIELD_DAMAGE_DEALT) != 0) data.damageDealt = ByteBufCodecs.FLOAT.decode(buf);
+            if ((mask & FIELD_DAMAGE_TAKEN) != 0) data.damageTaken = ByteBufCodecs.FLOAT.decode(buf);
+            data.revision = ByteBufCodecs.VAR_LONG.decode(buf);
+            return data;
         }
+    };
+
+    // Dirty tracking
+    public int diff(PlayerStatsData other) {
+        int mask = 0;
+        if (!playerName.equals(other.playerName)) mask |= FIELD_NAME;
+        if (isOnline != other.isOnline) mask |= FIELD_ONLINE;
+        if (lastSeen != other.lastSeen) mask |= FIELD_LAST_SEEN;
+        if (playTime != other.playTime) mask |= FIELD_PLAY_TIME;
+        if (deaths != other.deaths) mask |= FIELD_DEATHS;
+        if (timeSinceDeath != other.timeSinceDeath) mask |= FIELD_TIME_SINCE_DEATH;
+        if (mobKills != other.mobKills) mask |= FIELD_MOB_KILLS;
+        if (blocksWalked != other.blocksWalked) mask |= FIELD_BLOCKS_WALKED;
+        if (blocksMined != other.blocksMined) mask |= FIELD_BLOCKS_MINED;
+        if (jumps != other.jumps) mask |= FIELD_JUMPS;
+        if (Float.compare(damageDealt, other.damageDealt) != 0) mask |= FIELD_DAMAGE_DEALT;
+        if (Float.compare(damageTaken, other.damageTaken) != 0) mask |= FIELD_DAMAGE_TAKEN;
+        return mask;
     }
 
-    private static int getStatInt(JsonObject json, String key, int defaultValue) {
-        try {
-            return json.has(key) ? json.get(key).getAsInt() : defaultValue;
-        } catch (Exception e) {
-            return defaultValue;
+    /**
+     * Takes over the revision history of the entry this one replaces, recording
+     * the fields that differ as pending changes. A null previous entry marks every field.
+     */
+    public void inheritTracking(PlayerStatsData previous) {
+        if (previous == null) {
+            revision = 0;
+            dirtySince = 0;
+            dirtyMask = 0;
+            pendingMask = ALL_FIELDS;
+            return;
         }
+        revision = previous.revision;
+        dirtySince = previous.dirtySince;
+        dirtyMask = previous.dirtyMask;
+        pendingMask = previous.pendingMask | diff(previous);
     }
 
-    private static float getStatFloat(JsonObject json, String key, float defaultValue) {
-        try {
-            return json.has(key) ? json.get(key).getAsFloat() : defaultValue;
-        } catch (Exception e) {
-            return defaultValue;
+    /**
+     * Assigns a new revision and folds pending changes into the dirty mask. Changes are
+     * accumulated for as long as the previous revision has not been synced yet.
+     */
+    public void stamp(long newRevision, long syncedRevision) {
+        if (revision <= syncedRevision) {
+            dirtySince = revision;
+            dirtyMask = pendingMask;
+        } else {
+            dirtyMask |= pendingMask;
         }
+        pendingMask = 0;
+        revision = newRevision;
+    }
+
+    public boolean hasPendingChanges() {
+        return pendingMask != 0;
+    }
+
+    /**
+     * Fields a client holding {@code since} is missing, or all of them if its
+     * revision predates the tracked history.
+     */
+    public int changedFieldsSince(long since) {
+        return since >= dirtySince ? dirtyMask : ALL_FIELDS;
+    }
+
+    /**
+     * Detached copy carrying the given fields for {@link #DELTA_STREAM_CODEC}.
+     */
+    public PlayerStatsData copyFields(int mask) {
+        PlayerStatsData copy = new PlayerStatsData();
+        copy.playerName = playerName;
+        copy.uuid = uuid;
+        copy.isOnline = isOnline;
+        copy.lastSeen = lastSeen;
+        copy.playTime = playTime;
+        copy.deaths = deaths;
+        copy.timeSinceDeath = timeSinceDeath;
+        copy.mobKills = mobKills;
+        copy.blocksWalked = blocksWalked;
+        copy.blocksMined = blocksMined;
+        copy.jumps = jumps;
+        copy.damageDealt = damageDealt;
+        copy.damageTaken = damageTaken;
+        copy.revision = revision;
+        copy.dirtyMask = mask;
+        return copy;
+    }
+
+    /**
+     * Copies the fields carried by a decoded delta entry into this one.
+     */
+    public void applyChanges(PlayerStatsData changes) {
+        int mask = changes.dirtyMask;
+        if ((mask & FIELD_NAME) != 0) playerName = changes.playerName;
+        if ((mask & FIELD_ONLINE) != 0) isOnline = changes.isOnline;
+        if ((mask & FIELD_LAST_SEEN) != 0) lastSeen = changes.lastSeen;
+        if ((mask & FIELD_PLAY_TIME) != 0) playTime = changes.playTime;
+        if ((mask & FIELD_DEATHS) != 0) deaths = changes.deaths;
+        if ((mask & FIELD_TIME_SINCE_DEATH) != 0) timeSinceDeath = changes.timeSinceDeath;
+        if ((mask & FIELD_MOB_KILLS) != 0) mobKills = changes.mobKills;
+        if ((mask & FIELD_BLOCKS_WALKED) != 0) blocksWalked = changes.blocksWalked;
+        if ((mask & FIELD_BLOCKS_MINED) != 0) blocksMined = changes.blocksMined;
+        if ((mask & FIELD_JUMPS) != 0) jumps = changes.jumps;
+        if ((mask & FIELD_DAMAGE_DEALT) != 0) damageDealt = changes.damageDealt;
+        if ((mask & FIELD_DAMAGE_TAKEN) != 0) damageTaken = changes.damageTaken;
+        revision = changes.revision;
+    }
+
+    public int getDirtyMask() {
+        return dirtyMask;
+    }
+
+    public long getDirtySince() {
+        return dirtySince;
+    }
+
+    /**
+     * Restores revision history for an entry rebuilt from external storage.
+     */
+    public void restoreTracking(long revision, long dirtySince, int dirtyMask) {
+        this.revision = revision;
+        this.dirtySince = dirtySince;
+        this.dirtyMask = dirtyMask;
+        this.pendingMask = 0;
     }
 
     // Getters
     @Nonnull
     public String getPlayerName() { return playerName; }
     @Nonnull
-    public String getUuid() { return uuid; }
+    public UUID getUuid() { return uuid; }
     public boolean isOnline() { return isOnline; }
     public long getLastSeen() { return lastSeen; }
     public long getPlayTime() { return playTime; }
@@ -249,24 +394,29 @@ public class PlayerStatsData {
     public int getJumps() { return jumps; }
     public float getDamageDealt() { return damageDealt; }
     public float getDamageTaken() { return damageTaken; }
+    public long getRevision() { return revision; }
 
     // Minimal setters needed for backwards compatibility
     public void setPlayerName(String playerName) {
-        this.playerName = playerName != null ? playerName : "";
+        String name = playerName != null ? playerName : "";
+        if (!name.equals(this.playerName)) pendingMask |= FIELD_NAME;
+        this.playerName = name;
     }
 
-    public void setUuid(String uuid) {
-        this.uuid = uuid != null ? uuid : "";
+    public void setUuid(UUID uuid) {
+        this.uuid = uuid != null ? uuid : Util.NIL_UUID;
     }
 
     public void setOnline(boolean online) {
+        if (online != this.isOnline) pendingMask |= FIELD_ONLINE;
         this.isOnline = online;
         if (!online) {
-            this.lastSeen = System.currentTimeMillis();
+            setLastSeen(System.currentTimeMillis());
         }
     }
 
     public void setLastSeen(long lastSeen) {
+        if (lastSeen != this.lastSeen) pendingMask |= FIELD_LAST_SEEN;
         this.lastSeen = lastSeen;
     }
 
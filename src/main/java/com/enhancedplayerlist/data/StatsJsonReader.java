@@ -0,0 +1,140 @@
+// src/main/java/com/enhancedplayerlist/data/StatsJsonReader.java
+package com.enhancedplayerlist.data;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming extractor for vanilla stat files. Walks the file once, reads only the
+ * {@code minecraft:custom} keys and the {@code minecraft:mined} total, and skips every
+ * other category without materialising it. Produces the same values as the
+ * tree-based reading it replaced.
+ */
+public final class StatsJsonReader {
+    private StatsJsonReader() {}
+
+    public static void read(Reader in, PlayerStatsData.Builder builder) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("stats") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                readStats(reader, builder);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readStats(JsonReader reader, PlayerStatsData.Builder builder) throws IOException {
+        CustomStats custom = null;
+        long blocksMined = 0L;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String category = reader.nextName();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+            } else if (category.equals("minecraft:custom")) {
+                custom = readCustom(reader);
+            } else if (category.equals("minecraft:mined")) {
+                blocksMined = readSum(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        // Like the tree-based path, nothing is applied without a custom section
+        if (custom == null) return;
+
+        builder.playTime(custom.playTime)
+                .deaths(custom.deaths)
+                .timeSinceDeath(custom.timeSinceDeath)
+                .mobKills(custom.mobKills)
+                .blocksWalked(custom.blocksWalked)
+                .jumps(custom.jumps)
+                .damageDealt(custom.damageDealt)
+                .damageTaken(custom.damageTaken)
+                .blocksMined(blocksMined);
+    }
+
+    private static CustomStats readCustom(JsonReader reader) throws IOException {
+        CustomStats custom = new CustomStats();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "minecraft:play_time" -> custom.playTime = readLong(reader);
+                case "minecraft:deaths" -> custom.deaths = (int) readLong(reader);
+                case "minecraft:time_since_death" -> custom.timeSinceDeath = readLong(reader);
+                case "minecraft:mob_kills" -> custom.mobKills = (int) readLong(reader);
+                case "minecraft:walk_one_cm",
+                     "minecraft:sprint_one_cm",
+                     "minecraft:walk_on_water_one_cm",
+                     "minecraft:walk_under_water_one_cm" -> custom.blocksWalked += readLong(reader);
+                case "minecraft:jump" -> custom.jumps = (int) readLong(reader);
+                case "minecraft:damage_dealt" -> custom.damageDealt = readFloat(reader);
+                case "minecraft:damage_taken" -> custom.damageTaken = readFloat(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return custom;
+    }
+
+    private static long readSum(JsonReader reader) throws IOException {
+        long sum = 0L;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            reader.nextName();
+            sum += readLong(reader);
+        }
+        reader.endObject();
+
+        return sum;
+    }
+
+    private static long readLong(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.NUMBER) {
+            reader.skipValue();
+            return 0L;
+        }
+        try {
+            return reader.nextLong();
+        } catch (NumberFormatException e) {
+            // Fractional or out of range: the value stays buffered, read it as a double
+            return (long) reader.nextDouble();
+        }
+    }
+
+    private static float readFloat(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.NUMBER) {
+            reader.skipValue();
+            return 0f;
+        }
+        return (float) reader.nextDouble();
+    }
+
+    private static final class CustomStats {
+        long playTime;
+        int deaths;
+        long timeSinceDeath;
+        int mobKills;
+        long blocksWalked;
+        int jumps;
+        float damageDealt;
+        float damageTaken;
+    }
+}
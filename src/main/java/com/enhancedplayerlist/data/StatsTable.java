@@ -0,0 +1,261 @@
+// src/main/java/com/enhancedplayerlist/data/StatsTable.java
+package com.enhancedplayerlist.data;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Struct-of-arrays registry of player stats. Each entry occupies an int slot and
+ * every field lives in its own primitive column, so sorting, sending and rendering
+ * walk plain arrays instead of chasing objects. Slots are dense: removing an entry
+ * moves the last one into its place. Not thread-safe; use {@link #snapshot()} to
+ * hand a frozen copy to other threads.
+ */
+public class StatsTable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final UuidSlotIndex index;
+    private final boolean frozen;
+    private int size;
+
+    private long[] uuidMost = new long[INITIAL_CAPACITY];
+    private long[] uuidLeast = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private boolean[] online = new boolean[INITIAL_CAPACITY];
+    private long[] lastSeen = new long[INITIAL_CAPACITY];
+    private long[] playTime = new long[INITIAL_CAPACITY];
+    private int[] deaths = new int[INITIAL_CAPACITY];
+    private long[] timeSinceDeath = new long[INITIAL_CAPACITY];
+    private int[] mobKills = new int[INITIAL_CAPACITY];
+    private long[] blocksWalked = new long[INITIAL_CAPACITY];
+    private long[] blocksMined = new long[INITIAL_CAPACITY];
+    private int[] jumps = new int[INITIAL_CAPACITY];
+    private float[] damageDealt = new float[INITIAL_CAPACITY];
+    private float[] damageTaken = new float[INITIAL_CAPACITY];
+    private long[] revision = new long[INITIAL_CAPACITY];
+    private long[] dirtySince = new long[INITIAL_CAPACITY];
+    private int[] dirtyMask = new int[INITIAL_CAPACITY];
+
+    public StatsTable() {
+        index = new UuidSlotIndex();
+        frozen = false;
+    }
+
+    private StatsTable(StatsTable other) {
+        index = other.index.copy();
+        frozen = true;
+        size = other.size;
+        // Trim to size: frozen tables never grow
+        uuidMost = Arrays.copyOf(other.uuidMost, size);
+        uuidLeast = Arrays.copyOf(other.uuidLeast, size);
+        names = Arrays.copyOf(other.names, size);
+        online = Arrays.copyOf(other.online, size);
+        lastSeen = Arrays.copyOf(other.lastSeen, size);
+        playTime = Arrays.copyOf(other.playTime, size);
+        deaths = Arrays.copyOf(other.deaths, size);
+        timeSinceDeath = Arrays.copyOf(other.timeSinceDeath, size);
+        mobKills = Arrays.copyOf(other.mobKills, size);
+        blocksWalked = Arrays.copyOf(other.blocksWalked, size);
+        blocksMined = Arrays.copyOf(other.blocksMined, size);
+        jumps = Arrays.copyOf(other.jumps, size);
+        damageDealt = Arrays.copyOf(other.damageDealt, size);
+        damageTaken = Arrays.copyOf(other.damageTaken, size);
+        revision = Arrays.copyOf(other.revision, size);
+        dirtySince = Arrays.copyOf(other.dirtySince, size);
+        dirtyMask = Arrays.copyOf(other.dirtyMask, size);
+    }
+
+    /**
+     * Returns an immutable copy that is safe to read from any thread once published.
+     */
+    public StatsTable snapshot() {
+        return frozen ? this : new StatsTable(this);
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int slotOf(UUID uuid) {
+        return index.get(uuid);
+    }
+
+    public int slotOf(long uuidMost, long uuidLeast) {
+        return index.get(uuidMost, uuidLeast);
+    }
+
+    public boolean contains(UUID uuid) {
+        return index.get(uuid) >= 0;
+    }
+
+    /**
+     * Inserts or overwrites the entry for a UUID, including its revision history.
+     */
+    public int put(UUID uuid, PlayerStatsData data) {
+        checkMutable();
+        int slot = index.get(uuid);
+        if (slot < 0) {
+            if (size == uuidMost.length) resize(size * 2);
+            slot = size++;
+            uuidMost[slot] = uuid.getMostSignificantBits();
+            uuidLeast[slot] = uuid.getLeastSignificantBits();
+            index.put(uuid, slot);
+        }
+
+        names[slot] = data.getPlayerName();
+        online[slot] = data.isOnline();
+        lastSeen[slot] = data.getLastSeen();
+        playTime[slot] = data.getPlayTime();
+        deaths[slot] = data.getDeaths();
+        timeSinceDeath[slot] = data.getTimeSinceDeath();
+        mobKills[slot] = data.getMobKills();
+        blocksWalked[slot] = data.getBlocksWalked();
+        blocksMined[slot] = data.getBlocksMined();
+        jumps[slot] = data.getJumps();
+        damageDealt[slot] = data.getDamageDealt();
+        damageTaken[slot] = data.getDamageTaken();
+        revision[slot] = data.getRevision();
+        dirtySince[slot] = data.getDirtySince();
+        dirtyMask[slot] = data.getDirtyMask();
+        return slot;
+    }
+
+    /**
+     * Applies the fields carried by a delta entry (see {@link PlayerStatsData#getDirtyMask()}).
+     */
+    public void applyChanges(int slot, PlayerStatsData changes) {
+        checkMutable();
+        int mask = changes.getDirtyMask();
+        if ((mask & PlayerStatsData.FIELD_NAME) != 0) names[slot] = changes.getPlayerName();
+        if ((mask & PlayerStatsData.FIELD_ONLINE) != 0) online[slot] = changes.isOnline();
+        if ((mask & PlayerStatsData.FIELD_LAST_SEEN) != 0) lastSeen[slot] = changes.getLastSeen();
+        if ((mask & PlayerStatsData.FIELD_PLAY_TIME) != 0) playTime[slot] = changes.getPlayTime();
+        if ((mask & PlayerStatsData.FIELD_DEATHS) != 0) deaths[slot] = changes.getDeaths();
+        if ((mask & PlayerStatsData.FIELD_TIME_SINCE_DEATH) != 0) timeSinceDeath[slot] = changes.getTimeSinceDeath();
+        if ((mask & PlayerStatsData.FIELD_MOB_KILLS) != 0) mobKills[slot] = changes.getMobKills();
+        if ((mask & PlayerStatsData.FIELD_BLOCKS_WALKED) != 0) blocksWalked[slot] = changes.getBlocksWalked();
+        if ((mask & PlayerStatsData.FIELD_BLOCKS_MINED) != 0) blocksMined[slot] = changes.getBlocksMined();
+        if ((mask & PlayerStatsData.FIELD_JUMPS) != 0) jumps[slot] = changes.getJumps();
+        if ((mask & PlayerStatsData.FIELD_DAMAGE_DEALT) != 0) damageDealt[slot] = changes.getDamageDealt();
+        if ((mask & PlayerStatsData.FIELD_DAMAGE_TAKEN) != 0) damageTaken[slot] = changes.getDamageTaken();
+        revision[slot] = changes.getRevision();
+    }
+
+    /**
+     * Builds a standalone copy of a slot, with its revision history.
+     */
+    public PlayerStatsData get(int slot) {
+        PlayerStatsData data = PlayerStatsData.builder()
+                .uuid(getUuid(slot))
+                .playerName(names[slot])
+                .online(online[slot])
+                .lastSeen(lastSeen[slot])
+                .playTime(playTime[slot])
+                .deaths(deaths[slot])
+                .timeSinceDeath(timeSinceDeath[slot])
+                .mobKills(mobKills[slot])
+                .blocksWalked(blocksWalked[slot])
+                .blocksMined(blocksMined[slot])
+                .jumps(jumps[slot])
+                .damageDealt(damageDealt[slot])
+                .damageTaken(damageTaken[slot])
+                .build();
+        data.restoreTracking(revision[slot], dirtySince[slot], dirtyMask[slot]);
+        return data;
+    }
+
+    public boolean remove(UUID uuid) {
+        int slot = index.get(uuid);
+        if (slot < 0) return false;
+
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Removes a slot. The last entry moves into its place, so callers removing while
+     * iterating should walk slots from the end.
+     */
+    public void removeAt(int slot) {
+        checkMutable();
+        index.remove(uuidMost[slot], uuidLeast[slot]);
+        int last = --size;
+        if (slot != last) {
+            uuidMost[slot] = uuidMost[last];
+            uuidLeast[slot] = uuidLeast[last];
+            names[slot] = names[last];
+            online[slot] = online[last];
+            lastSeen[slot] = lastSeen[last];
+            playTime[slot] = playTime[last];
+            deaths[slot] = deaths[last];
+            timeSinceDeath[slot] = timeSinceDeath[last];
+            mobKills[slot] = mobKills[last];
+            blocksWalked[slot] = blocksWalked[last];
+            blocksMined[slot] = blocksMined[last];
+            jumps[slot] = jumps[last];
+            damageDealt[slot] = damageDealt[last];
+            damageTaken[slot] = damageTaken[last];
+            revision[slot] = revision[last];
+            dirtySince[slot] = dirtySince[last];
+            dirtyMask[slot] = dirtyMask[last];
+            index.put(uuidMost[slot], uuidLeast[slot], slot);
+        }
+        names[last] = null;
+    }
+
+    public void clear() {
+        checkMutable();
+        Arrays.fill(names, 0, size, null);
+        index.clear();
+        size = 0;
+    }
+
+    // Column readers
+    public UUID getUuid(int slot) {
+        return new UUID(uuidMost[slot], uuidLeast[slot]);
+    }
+
+    public long getUuidMost(int slot) { return uuidMost[slot]; }
+    public long getUuidLeast(int slot) { return uuidLeast[slot]; }
+    public String getName(int slot) { return names[slot]; }
+    public boolean isOnline(int slot) { return online[slot]; }
+    public long getLastSeen(int slot) { return lastSeen[slot]; }
+    public long getPlayTime(int slot) { return playTime[slot]; }
+    public int getDeaths(int slot) { return deaths[slot]; }
+    public long getTimeSinceDeath(int slot) { return timeSinceDeath[slot]; }
+    public int getMobKills(int slot) { return mobKills[slot]; }
+    public long getBlocksWalked(int slot) { return blocksWalked[slot]; }
+    public long getBlocksMined(int slot) { return blocksMined[slot]; }
+    public int getJumps(int slot) { return jumps[slot]; }
+    public float getDamageDealt(int slot) { return damageDealt[slot]; }
+    public float getDamageTaken(int slot) { return damageTaken[slot]; }
+    public long getRevision(int slot) { return revision[slot]; }
+
+    private void checkMutable() {
+        if (frozen) throw new UnsupportedOperationException("Stats table snapshot is immutable");
+    }
+
+    private void resize(int capacity) {
+        uuidMost = Arrays.copyOf(uuidMost, capacity);
+        uuidLeast = Arrays.copyOf(uuidLeast, capacity);
+        names = Arrays.copyOf(names, capacity);
+        online = Arrays.copyOf(online, capacity);
+        lastSeen = Arrays.copyOf(lastSeen, capacity);
+        playTime = Arrays.copyOf(playTime, capacity);
+        deaths = Arrays.copyOf(deaths, capacity);
+        timeSinceDeath = Arrays.copyOf(timeSinceDeath, capacity);
+        mobKills = Arrays.copyOf(mobKills, capacity);
+        blocksWalked = Arrays.copyOf(blocksWalked, capacity);
+        blocksMined = Arrays.copyOf(blocksMined, capacity);
+        jumps = Arrays.copyOf(jumps, capacity);
+        damageDealt = Arrays.copyOf(damageDealt, capacity);
+        damageTaken = Arrays.copyOf(damageTaken, capacity);
+        revision = Arrays.copyOf(revision, capacity);
+        dirtySince = Arrays.copyOf(dirtySince, capacity);
+        dirtyMask = Arrays.copyOf(dirtyMask, capacity);
+    }
+}
@@ -0,0 +1,141 @@
+// src/main/java/com/enhancedplayerlist/data/UuidSlotIndex.java
+package com.enhancedplayerlist.data;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Maps UUIDs to int slots without boxing: keys are stored as their two longs in
+ * parallel arrays with linear probing, and removal uses backward-shift deletion so
+ * no tombstones build up.
+ */
+public class UuidSlotIndex {
+    private static final int INITIAL_BUCKETS = 16;
+
+    private long[] most;
+    private long[] least;
+    // Slot + 1 per bucket, 0 for empty
+    private int[] slots;
+    private int size;
+
+    public UuidSlotIndex() {
+        allocate(INITIAL_BUCKETS);
+    }
+
+    private UuidSlotIndex(UuidSlotIndex other) {
+        most = other.most.clone();
+        least = other.least.clone();
+        slots = other.slots.clone();
+        size = other.size;
+    }
+
+    public UuidSlotIndex copy() {
+        return new UuidSlotIndex(this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(UUID uuid) {
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Returns the slot for the given UUID halves, or -1 if absent.
+     */
+    public int get(long keyMost, long keyLeast) {
+        int mask = slots.length - 1;
+        for (int bucket = hash(keyMost, keyLeast) & mask; slots[bucket] != 0; bucket = (bucket + 1) & mask) {
+            if (most[bucket] == keyMost && least[bucket] == keyLeast) return slots[bucket] - 1;
+        }
+        return -1;
+    }
+
+    public void put(UUID uuid, int slot) {
+        put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), slot);
+    }
+
+    public void put(long keyMost, long keyLeast, int slot) {
+        // Keep the load factor at or below one half
+        if ((size + 1) * 2 > slots.length) rehash(slots.length * 2);
+
+        int mask = slots.length - 1;
+        int bucket = hash(keyMost, keyLeast) & mask;
+        while (slots[bucket] != 0) {
+            if (most[bucket] == keyMost && least[bucket] == keyLeast) {
+                slots[bucket] = slot + 1;
+                return;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        most[bucket] = keyMost;
+        least[bucket] = keyLeast;
+        slots[bucket] = slot + 1;
+        size++;
+    }
+
+    public boolean remove(UUID uuid) {
+        return remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public boolean remove(long keyMost, long keyLeast) {
+        int mask = slots.length - 1;
+        int bucket = hash(keyMost, keyLeast) & mask;
+        while (slots[bucket] != 0 && (most[bucket] != keyMost || least[bucket] != keyLeast)) {
+            bucket = (bucket + 1) & mask;
+        }
+        if (slots[bucket] == 0) return false;
+
+        int hole = bucket;
+        for (int next = (hole + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            int home = hash(most[next], least[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                most[hole] = most[next];
+                least[hole] = least[next];
+                slots[hole] = slots[next];
+                hole = next;
+            }
+        }
+        slots[hole] = 0;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    private void rehash(int buckets) {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        int[] oldSlots = slots;
+        allocate(buckets);
+
+        int mask = buckets - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] == 0) continue;
+
+            int bucket = hash(oldMost[i], oldLeast[i]) & mask;
+            while (slots[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            most[bucket] = oldMost[i];
+            least[bucket] = oldLeast[i];
+            slots[bucket] = oldSlots[i];
+        }
+    }
+
+    private void allocate(int buckets) {
+        most = new long[buckets];
+        least = new long[buckets];
+        slots = new int[buckets];
+    }
+
+    private static int hash(long keyMost, long keyLeast) {
+        return (int) HashCommon.mix(keyMost ^ keyLeast);
+    }
+}
@@ -3,35 +3,116 @@ package com.enhancedplayerlist.network;
 
 import com.enhancedplayerlist.EnhancedPlayerList;
 import com.enhancedplayerlist.client.ClientStatsManager;
+import com.enhancedplayerlist.server.ServerStatsManager;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
 import net.neoforged.neoforge.network.PacketDistributor;
 
 public class NetworkHandler {
     public static final ResourceLocation PLAYER_STATS_ID = ResourceLocation.fromNamespaceAndPath(EnhancedPlayerList.MODID, "player_stats");
+    public static final ResourceLocation PLAYER_STATS_DELTA_ID = ResourceLocation.fromNamespaceAndPath(EnhancedPlayerList.MODID, "player_stats_delta");
+    public static final ResourceLocation STATS_RESYNC_ID = ResourceLocation.fromNamespaceAndPath(EnhancedPlayerList.MODID, "stats_resync");
+    public static final ResourceLocation STATS_VIEW_ID = ResourceLocation.fromNamespaceAndPath(EnhancedPlayerList.MODID, "stats_view");
+    public static final ResourceLocation STATS_CHUNK_ID = ResourceLocation.fromNamespaceAndPath(EnhancedPlayerList.MODID, "stats_chunk");
+    public static final ResourceLocation STATS_CHUNK_RESUME_ID = ResourceLocation.fromNamespaceAndPath(EnhancedPlayerList.MODID, "stats_chunk_resume");
+    public static final ResourceLocation STATS_SUBSCRIPTION_ID = ResourceLocation.fromNamespaceAndPath(EnhancedPlayerList.MODID, "stats_subscription");
 
     @SubscribeEvent
     public static void register(RegisterPayloadHandlersEvent event) {
         final var registrar = event.registrar(EnhancedPlayerList.MODID)
-            .versioned("1.0");
+            .versioned("1.6");
 
         registrar.playToClient(
             PlayerStatsPacket.TYPE,
             PlayerStatsPacket.STREAM_CODEC,
             (packet, context) -> {
                 context.enqueueWork(() -> {
-                    ClientStatsManager.updatePlayerStats(packet.playerStats());
+                    ClientStatsManager.applySnapshot(packet);
+                });
+            }
+        );
+
+        registrar.playToClient(
+            PlayerStatsDeltaPacket.TYPE,
+            PlayerStatsDeltaPacket.STREAM_CODEC,
+            (packet, context) -> {
+                context.enqueueWork(() -> {
+                    ClientStatsManager.applyDelta(packet);
+                });
+            }
+        );
+
+        registrar.playToClient(
+            StatsChunkPacket.TYPE,
+            StatsChunkPacket.STREAM_CODEC,
+            (packet, context) -> {
+                context.enqueueWork(() -> {
+                    ClientStatsManager.applyChunk(packet);
+                });
+            }
+        );
+
+        registrar.playToServer(
+            StatsResyncRequestPacket.TYPE,
+            StatsResyncRequestPacket.STREAM_CODEC,
+            (packet, context) -> {
+                context.enqueueWork(() -> {
+                    if (context.player() instanceof ServerPlayer player) {
+                        ServerStatsManager.onResyncRequested(player);
+                    }
+                });
+            }
+        );
+
+        registrar.playToServer(
+            StatsViewRequestPacket.TYPE,
+            StatsViewRequestPacket.STREAM_CODEC,
+            (packet, context) -> {
+                context.enqueueWork(() -> {
+                    if (context.player() instanceof ServerPlayer player) {
+                        ServerStatsManager.onViewRequested(player, packet);
+                    }
+                });
+            }
+        );
+
+        registrar.playToServer(
+            StatsSubscriptionPacket.TYPE,
+            StatsSubscriptionPacket.STREAM_CODEC,
+            (packet, context) -> {
+                context.enqueueWork(() -> {
+                    if (context.player() instanceof ServerPlayer player) {
+                        ServerStatsManager.onSubscriptionChanged(player, packet.open());
+                    }
+                });
+            }
+        );
+
+        registrar.playToServer(
+            StatsChunkResumePacket.TYPE,
+            StatsChunkResumePacket.STREAM_CODEC,
+            (packet, context) -> {
+                context.enqueueWork(() -> {
+                    if (context.player() instanceof ServerPlayer player) {
+                        ServerStatsManager.onChunkResumeRequested(player, packet);
+                    }
                 });
             }
         );
     }
 
-    public static void sendToServer(PlayerStatsPacket packet) {
+    public static void sendToServer(CustomPacketPayload packet) {
         PacketDistributor.sendToServer(packet);
     }
 
-    public static void sendToAllPlayers(PlayerStatsPacket packet) {
+    public static void sendToPlayer(ServerPlayer player, CustomPacketPayload packet) {
+        PacketDistributor.sendToPlayer(player, packet);
+    }
+
+    public static void sendToAllPlayers(CustomPacketPayload packet) {
         PacketDistributor.sendToAllPlayers(packet);
     }
-}
\ No newline at end of file
+}
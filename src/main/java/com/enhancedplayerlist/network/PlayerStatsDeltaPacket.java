@@ -0,0 +1,99 @@
+// src/main/java/com/enhancedplayerlist/network/PlayerStatsDeltaPacket.java
+package com.enhancedplayerlist.network;
+
+import com.enhancedplayerlist.data.PlayerStatsData;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import net.minecraft.core.UUIDUtil;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Entries added, changed or removed between two revisions. Clients only apply it
+ * when {@code baseRevision} matches the revision they hold, otherwise they resync.
+ * Changed entries only carry the fields named by their dirty mask. Entries are keyed
+ * by session player index, with UUIDs for newly seen indices in {@code definitions}.
+ * {@code offlineCount} is the total number of offline players behind the client's page.
+ * When {@code body} is set, everything after the definitions is encoded once into it
+ * and shared by every client sent the same delta.
+ */
+public record PlayerStatsDeltaPacket(long baseRevision, long revision,
+                                     Int2ObjectMap<UUID> definitions,
+                                     Int2ObjectMap<PlayerStatsData> changed,
+                                     IntList removed,
+                                     int offlineCount, @Nullable SharedBody body) implements CustomPacketPayload {
+
+    // Read-only so the packet can be encoded off the server thread
+    public PlayerStatsDeltaPacket {
+        definitions = Int2ObjectMaps.unmodifiable(definitions);
+        changed = Int2ObjectMaps.unmodifiable(changed);
+        removed = IntLists.unmodifiable(removed);
+    }
+
+    public PlayerStatsDeltaPacket(long baseRevision, long revision, Int2ObjectMap<UUID> definitions,
+                                  Int2ObjectMap<PlayerStatsData> changed, IntList removed, int offlineCount) {
+        this(baseRevision, revision, definitions, changed, removed, offlineCount, null);
+    }
+
+    public static final ResourceLocation ID = NetworkHandler.PLAYER_STATS_DELTA_ID;
+    public static final CustomPacketPayload.Type<PlayerStatsDeltaPacket> TYPE = new CustomPacketPayload.Type<>(ID);
+
+    private static final StreamCodec<ByteBuf, Int2ObjectMap<UUID>> DEFINITIONS_CODEC =
+            StatsCodecs.indexedMap(UUIDUtil.STREAM_CODEC);
+    private static final StreamCodec<ByteBuf, Int2ObjectMap<PlayerStatsData>> CHANGED_CODEC =
+            StatsCodecs.indexedMap(PlayerStatsData.DELTA_STREAM_CODEC);
+
+    public static final StreamCodec<FriendlyByteBuf, PlayerStatsDeltaPacket> STREAM_CODEC = new StreamCodec<>() {
+        @Override
+        public void encode(@Nonnull FriendlyByteBuf buf, @Nonnull PlayerStatsDeltaPacket packet) {
+            buf.writeVarLong(packet.baseRevision());
+            buf.writeVarLong(packet.revision());
+            DEFINITIONS_CODEC.encode(buf, packet.definitions());
+            if (packet.body() != null) {
+                packet.body().write(buf, packet::writeBody);
+            } else {
+                packet.writeBody(buf);
+            }
+        }
+
+        @Override
+        @Nonnull
+        public PlayerStatsDeltaPacket decode(@Nonnull FriendlyByteBuf buf) {
+            long baseRevision = buf.readVarLong();
+            long revision = buf.readVarLong();
+            Int2ObjectMap<UUID> definitions = DEFINITIONS_CODEC.decode(buf);
+            FriendlyByteBuf body = StatsCompression.read(buf);
+            Int2ObjectMap<PlayerStatsData> changed = CHANGED_CODEC.decode(body);
+            IntList removed = StatsCodecs.INDEX_LIST.decode(body);
+            return new PlayerStatsDeltaPacket(baseRevision, revision, definitions, changed, removed, body.readVarInt());
+        }
+    };
+
+    private void writeBody(FriendlyByteBuf buf) {
+        StatsCompression.write(buf, this::encodeBody);
+    }
+
+    private void encodeBody(FriendlyByteBuf buf) {
+        CHANGED_CODEC.encode(buf, changed);
+        StatsCodecs.INDEX_LIST.encode(buf, removed);
+        buf.writeVarInt(offlineCount);
+    }
+
+    public PlayerStatsDeltaPacket withDefinitions(Int2ObjectMap<UUID> definitions) {
+        return new PlayerStatsDeltaPacket(baseRevision, revision, definitions, changed, removed, offlineCount, body);
+    }
+
+    @Override
+    public CustomPacketPayload.Type<?> type() {
+        return TYPE;
+    }
+}
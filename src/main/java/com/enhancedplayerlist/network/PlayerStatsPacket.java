@@ -2,34 +2,110 @@
 package com.enhancedplayerlist.network;
 
 import com.enhancedplayerlist.data.PlayerStatsData;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import net.minecraft.core.UUIDUtil;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.network.codec.StreamCodec;
-import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.HashMap;
-import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.UUID;
 
-public record PlayerStatsPacket(Map<UUID, PlayerStatsData> playerStats) implements CustomPacketPayload {
+/**
+ * Full snapshot of the online players and the client's page of offline players,
+ * sent on join and on resync. Entries are keyed
+ * by session player index; {@code definitions} maps the indices the client has not
+ * seen yet to their UUIDs. {@code offlineCount} is the total number of offline players.
+ * When {@code body} is set, the entries and offline count are encoded once into it and
+ * shared by every client sent the same snapshot; only the definitions are per client.
+ */
+public record PlayerStatsPacket(long revision, Int2ObjectMap<UUID> definitions,
+                                Int2ObjectMap<PlayerStatsData> playerStats,
+                                int offlineCount, @Nullable SharedBody body) implements CustomPacketPayload {
+
+    // Read-only so the packet can be encoded off the server thread
+    public PlayerStatsPacket {
+        definitions = Int2ObjectMaps.unmodifiable(definitions);
+        playerStats = Int2ObjectMaps.unmodifiable(playerStats);
+    }
+
+    public PlayerStatsPacket(long revision, Int2ObjectMap<UUID> definitions,
+                             Int2ObjectMap<PlayerStatsData> playerStats, int offlineCount) {
+        this(revision, definitions, playerStats, offlineCount, null);
+    }
     
     public static final ResourceLocation ID = NetworkHandler.PLAYER_STATS_ID;
     public static final CustomPacketPayload.Type<PlayerStatsPacket> TYPE = new CustomPacketPayload.Type<>(ID);
-    
-    public static final StreamCodec<FriendlyByteBuf, PlayerStatsPacket> STREAM_CODEC = StreamCodec.composite(
-        ByteBufCodecs.map(
-            HashMap::new,
-            // Use string encoding for UUID
-            ByteBufCodecs.STRING_UTF8.map(UUID::fromString, UUID::toString),
-            PlayerStatsData.STREAM_CODEC
-        ),
-        PlayerStatsPacket::playerStats,
-        PlayerStatsPacket::new
-    );
+
+    // Worst-case sizes at full varint width: revision, counts, offline count and the
+    // compression header; an index and UUID per definition; an index, name prefix and
+    // the stat fields per entry, plus up to 3 bytes per name character
+    private static final int MAX_HEADER_BYTES = 10 + 5 + 1 + 10 + 5 + 5;
+    private static final int MAX_DEFINITION_BYTES = 5 + 16;
+    private static final int MAX_ENTRY_BYTES = 5 + 3 + 1 + 10 + 5 + 10 + 5 + 10 + 4 + 10 + 10 + 4 + 10;
+
+    private static final StreamCodec<ByteBuf, Int2ObjectMap<UUID>> DEFINITIONS_CODEC =
+            StatsCodecs.indexedMap(UUIDUtil.STREAM_CODEC);
+    private static final StreamCodec<ByteBuf, Int2ObjectMap<PlayerStatsData>> STATS_CODEC =
+            StatsCodecs.indexedMap(PlayerStatsData.STREAM_CODEC);
+
+    public static final StreamCodec<FriendlyByteBuf, PlayerStatsPacket> STREAM_CODEC = new StreamCodec<>() {
+        @Override
+        public void encode(@Nonnull FriendlyByteBuf buf, @Nonnull PlayerStatsPacket packet) {
+            buf.writeVarLong(packet.revision());
+            DEFINITIONS_CODEC.encode(buf, packet.definitions());
+            if (packet.body() != null) {
+                packet.body().write(buf, packet::writeBody);
+            } else {
+                packet.writeBody(buf);
+            }
+        }
+
+        @Override
+        @Nonnull
+        public PlayerStatsPacket decode(@Nonnull FriendlyByteBuf buf) {
+            long revision = buf.readVarLong();
+            Int2ObjectMap<UUID> definitions = DEFINITIONS_CODEC.decode(buf);
+            FriendlyByteBuf body = StatsCompression.read(buf);
+            Int2ObjectMap<PlayerStatsData> playerStats = STATS_CODEC.decode(body);
+            return new PlayerStatsPacket(revision, definitions, playerStats, body.readVarInt());
+        }
+    };
+
+    private void writeBody(FriendlyByteBuf buf) {
+        StatsCompression.write(buf, this::encodeBody);
+    }
+
+    private void encodeBody(FriendlyByteBuf buf) {
+        STATS_CODEC.encode(buf, playerStats);
+        buf.writeVarInt(offlineCount);
+    }
+
+    /**
+     * Upper bound on the encoded size, found without encoding. Exact for the shared
+     * entries once a connection has encoded them.
+     */
+    public long maxEncodedSize() {
+        long size = MAX_HEADER_BYTES + (long) definitions.size() * MAX_DEFINITION_BYTES;
+        int bodySize = body != null ? body.size() : -1;
+        if (bodySize >= 0) return size + bodySize;
+
+        for (PlayerStatsData data : playerStats.values()) {
+            size += MAX_ENTRY_BYTES + 3L * data.getPlayerName().length();
+        }
+        return size;
+    }
+
+    public PlayerStatsPacket withDefinitions(Int2ObjectMap<UUID> definitions) {
+        return new PlayerStatsPacket(revision, definitions, playerStats, offlineCount, body);
+    }
 
     @Override
     public CustomPacketPayload.Type<?> type() {
         return TYPE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+// src/main/java/com/enhancedplayerlist/network/SharedBody.java
+package com.enhancedplayerlist.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+
+import java.util.function.Consumer;
+
+/**
+ * The part of a payload that is the same for every recipient. It is encoded once, by
+ * the first connection that writes it, into a read-only heap buffer, and every other
+ * connection copies those bytes instead of walking the entries again. Local
+ * connections hand packets over without encoding, so they never pay for it.
+ * Safe to write from several netty threads at once.
+ */
+public final class SharedBody {
+    private volatile ByteBuf bytes;
+
+    /**
+     * Writes the shared bytes into {@code buf}, encoding them with {@code encoder} first
+     * if no connection has done so yet.
+     */
+    public void write(FriendlyByteBuf buf, Consumer<FriendlyByteBuf> encoder) {
+        ByteBuf encoded = bytes;
+        if (encoded == null) {
+            synchronized (this) {
+                encoded = bytes;
+                if (encoded == null) {
+                    ByteBuf scratch = Unpooled.buffer();
+                    encoder.accept(new FriendlyByteBuf(scratch));
+                    encoded = scratch.asReadOnly();
+                    bytes = encoded;
+                }
+            }
+        }
+        // Absolute read, so concurrent writers never move the shared indices
+        buf.writeBytes(encoded, encoded.readerIndex(), encoded.readableBytes());
+    }
+
+    /**
+     * Size of the encoded bytes, or -1 if no connection has encoded them yet.
+     */
+    public int size() {
+        ByteBuf encoded = bytes;
+        return encoded != null ? encoded.readableBytes() : -1;
+    }
+}
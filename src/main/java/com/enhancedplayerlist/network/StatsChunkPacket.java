@@ -0,0 +1,38 @@
+// src/main/java/com/enhancedplayerlist/network/StatsChunkPacket.java
+package com.enhancedplayerlist.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * One fragment of an encoded {@link PlayerStatsPacket} too large to send in one frame.
+ * Fragments of a transfer share {@code transferId} and arrive in {@code index} order;
+ * the client decodes the snapshot once all {@code count} of them are in.
+ */
+public record StatsChunkPacket(long transferId, int index, int count, byte[] data) implements CustomPacketPayload {
+    // Vanilla's limit for clientbound custom payloads
+    public static final int MAX_CHUNK_SIZE = 1 << 20;
+
+    public static final ResourceLocation ID = NetworkHandler.STATS_CHUNK_ID;
+    public static final CustomPacketPayload.Type<StatsChunkPacket> TYPE = new CustomPacketPayload.Type<>(ID);
+
+    public static final StreamCodec<FriendlyByteBuf, StatsChunkPacket> STREAM_CODEC = StreamCodec.composite(
+        ByteBufCodecs.VAR_LONG,
+        StatsChunkPacket::transferId,
+        ByteBufCodecs.VAR_INT,
+        StatsChunkPacket::index,
+        ByteBufCodecs.VAR_INT,
+        StatsChunkPacket::count,
+        ByteBufCodecs.byteArray(MAX_CHUNK_SIZE),
+        StatsChunkPacket::data,
+        StatsChunkPacket::new
+    );
+
+    @Override
+    public CustomPacketPayload.Type<?> type() {
+        return TYPE;
+    }
+}
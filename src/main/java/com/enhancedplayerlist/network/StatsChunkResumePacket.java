@@ -0,0 +1,30 @@
+// src/main/java/com/enhancedplayerlist/network/StatsChunkResumePacket.java
+package com.enhancedplayerlist.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Sent by a client that missed a fragment of a chunked snapshot, asking the server to
+ * continue the transfer from {@code nextIndex} instead of starting over.
+ */
+public record StatsChunkResumePacket(long transferId, int nextIndex) implements CustomPacketPayload {
+    public static final ResourceLocation ID = NetworkHandler.STATS_CHUNK_RESUME_ID;
+    public static final CustomPacketPayload.Type<StatsChunkResumePacket> TYPE = new CustomPacketPayload.Type<>(ID);
+
+    public static final StreamCodec<FriendlyByteBuf, StatsChunkResumePacket> STREAM_CODEC = StreamCodec.composite(
+        ByteBufCodecs.VAR_LONG,
+        StatsChunkResumePacket::transferId,
+        ByteBufCodecs.VAR_INT,
+        StatsChunkResumePacket::nextIndex,
+        StatsChunkResumePacket::new
+    );
+
+    @Override
+    public CustomPacketPayload.Type<?> type() {
+        return TYPE;
+    }
+}
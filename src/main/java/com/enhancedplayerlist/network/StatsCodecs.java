@@ -0,0 +1,65 @@
+// src/main/java/com/enhancedplayerlist/network/StatsCodecs.java
+package com.enhancedplayerlist.network;
+
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.network.VarInt;
+import net.minecraft.network.codec.StreamCodec;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Codecs for collections keyed by session player index, written without boxing.
+ */
+public final class StatsCodecs {
+    private StatsCodecs() {}
+
+    public static final StreamCodec<ByteBuf, IntList> INDEX_LIST = new StreamCodec<>() {
+        @Override
+        public void encode(@Nonnull ByteBuf buf, @Nonnull IntList value) {
+            VarInt.write(buf, value.size());
+            for (int i = 0; i < value.size(); i++) {
+                VarInt.write(buf, value.getInt(i));
+            }
+        }
+
+        @Override
+        @Nonnull
+        public IntList decode(@Nonnull ByteBuf buf) {
+            int size = VarInt.read(buf);
+            IntList list = new IntArrayList(size);
+            for (int i = 0; i < size; i++) {
+                list.add(VarInt.read(buf));
+            }
+            return list;
+        }
+    };
+
+    public static <V> StreamCodec<ByteBuf, Int2ObjectMap<V>> indexedMap(StreamCodec<? super ByteBuf, V> valueCodec) {
+        return new StreamCodec<>() {
+            @Override
+            public void encode(@Nonnull ByteBuf buf, @Nonnull Int2ObjectMap<V> value) {
+                VarInt.write(buf, value.size());
+                for (Int2ObjectMap.Entry<V> entry : value.int2ObjectEntrySet()) {
+                    VarInt.write(buf, entry.getIntKey());
+                    valueCodec.encode(buf, entry.getValue());
+                }
+            }
+
+            @Override
+            @Nonnull
+            public Int2ObjectMap<V> decode(@Nonnull ByteBuf buf) {
+                int size = VarInt.read(buf);
+                Int2ObjectMap<V> map = new Int2ObjectOpenHashMap<>(size);
+                for (int i = 0; i < size; i++) {
+                    int index = VarInt.read(buf);
+                    map.put(index, valueCodec.decode(buf));
+                }
+                return map;
+            }
+        };
+    }
+}
@@ -0,0 +1,203 @@
+// src/main/java/com/enhancedplayerlist/network/StatsCompression.java
+package com.enhancedplayerlist.network;
+
+import com.enhancedplayerlist.Config;
+import com.enhancedplayerlist.data.PlayerStatsData;
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.network.FriendlyByteBuf;
+import org.slf4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Optional deflate for the entries section of stats payloads. Each section starts with
+ * a flag byte, so clients can read either form and the server alone decides per
+ * payload: sections below {@link Config#statsCompressionThreshold} or with compression
+ * off go out raw. Deflate is primed with a preset dictionary of encoded sample entries
+ * and common name fragments, which helps most on small deltas where there is little
+ * repetition to find. Ratio and CPU time are logged periodically for operators.
+ */
+public final class StatsCompression {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int RAW = 0;
+    private static final int DEFLATED = 1;
+    // Bound on the declared inflated size, far above any real roster
+    private static final int MAX_INFLATED_SIZE = 64 << 20;
+    private static final long REPORT_INTERVAL = TimeUnit.MINUTES.toNanos(5);
+
+    private static final byte[] DICTIONARY = buildDictionary();
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    // Written from netty threads
+    private static final AtomicLong payloads = new AtomicLong();
+    private static final AtomicLong rawBytes = new AtomicLong();
+    private static final AtomicLong compressedBytes = new AtomicLong();
+    private static final AtomicLong deflateNanos = new AtomicLong();
+    private static long lastReport = System.nanoTime();
+
+    private StatsCompression() {}
+
+    /**
+     * Writes a section encoded by {@code encoder}, deflated if enabled and large enough.
+     */
+    public static void write(FriendlyByteBuf buf, Consumer<FriendlyByteBuf> encoder) {
+        int flagIndex = buf.writerIndex();
+        buf.writeByte(RAW);
+        int start = buf.writerIndex();
+        encoder.accept(buf);
+        int length = buf.writerIndex() - start;
+        if (!Config.statsCompression || length < Config.statsCompressionThreshold) return;
+
+        long began = System.nanoTime();
+        byte[] raw = new byte[length];
+        buf.getBytes(start, raw);
+        byte[] compressed = deflate(raw);
+        long elapsed = System.nanoTime() - began;
+
+        payloads.incrementAndGet();
+        rawBytes.addAndGet(length);
+        deflateNanos.addAndGet(elapsed);
+        if (compressed == null) {
+            // Did not shrink, keep it raw
+            compressedBytes.addAndGet(length);
+            return;
+        }
+        compressedBytes.addAndGet(compressed.length);
+
+        buf.writerIndex(flagIndex);
+        buf.writeByte(DEFLATED);
+        buf.writeVarInt(length);
+        buf.writeVarInt(compressed.length);
+        buf.writeBytes(compressed);
+    }
+
+    /**
+     * Returns a buffer positioned at the start of the section's entries: {@code buf}
+     * itself for a raw section, or the inflated bytes.
+     */
+    public static FriendlyByteBuf read(FriendlyByteBuf buf) {
+        int flag = buf.readByte();
+        if (flag == RAW) return buf;
+        if (flag != DEFLATED) throw new DecoderException("Unknown stats section encoding " + flag);
+
+        int length = buf.readVarInt();
+        int compressedLength = buf.readVarInt();
+        if (length < 0 || length > MAX_INFLATED_SIZE || compressedLength < 0 || compressedLength > buf.readableBytes()) {
+            throw new DecoderException("Bad compressed stats section: " + compressedLength + " -> " + length);
+        }
+
+        byte[] compressed = new byte[compressedLength];
+        buf.readBytes(compressed);
+        return new FriendlyByteBuf(Unpooled.wrappedBuffer(inflate(compressed, length)));
+    }
+
+    /**
+     * Logs the compression ratio and deflate time since the last report, if due.
+     */
+    public static void reportIfDue() {
+        long now = System.nanoTime();
+        if (now - lastReport < REPORT_INTERVAL) return;
+        lastReport = now;
+
+        long count = payloads.getAndSet(0);
+        long raw = rawBytes.getAndSet(0);
+        long compressed = compressedBytes.getAndSet(0);
+        long nanos = deflateNanos.getAndSet(0);
+        if (count == 0) return;
+
+        LOGGER.info("Stats compression: {} payloads, {} KB -> {} KB ({}%), {} ms deflating",
+                count, raw / 1024, compressed / 1024, compressed * 100 / Math.max(1, raw),
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(raw);
+        deflater.finish();
+
+        // Anything not smaller than the input is not worth it
+        byte[] out = new byte[raw.length];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == out.length) return null;
+            length += deflater.deflate(out, length, out.length - length);
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    private static byte[] inflate(byte[] compressed, int length) {
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed);
+        byte[] out = new byte[length];
+        int inflated = 0;
+        try {
+            while (inflated < length) {
+                int n = inflater.inflate(out, inflated, length - inflated);
+                if (n == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.finished() || inflater.needsInput()) {
+                        break;
+                    }
+                }
+                inflated += n;
+            }
+        } catch (DataFormatException e) {
+            throw new DecoderException("Corrupt compressed stats section", e);
+        }
+        if (inflated != length) {
+            throw new DecoderException("Compressed stats section inflated to " + inflated + " of " + length + " bytes");
+        }
+        return out;
+    }
+
+    /**
+     * Encodes a few typical entries with the real codecs, so the dictionary follows the
+     * wire layout. Must be identical on both sides, so it only uses constants.
+     */
+    private static byte[] buildDictionary() {
+        ByteBuf buf = Unpooled.buffer();
+        String[] names = {"Player", "Steve", "Alex", "_", "xX", "Xx", "123", "2024", "The", "Mr", "Craft", "Gamer", "YT", "TTV"};
+        for (String name : names) {
+            buf.writeBytes(name.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Later bytes are cheaper to reference, so the entry layouts go last
+        PlayerStatsData offline = PlayerStatsData.builder()
+                .playerName("Player123")
+                .online(false)
+                .lastSeen(1_700_000_000_000L)
+                .playTime(720_000)
+                .deaths(12)
+                .timeSinceDeath(24_000)
+                .blocksWalked(5_000_000)
+                .blocksMined(20_000)
+                .jumps(15_000)
+                .damageDealt(2_500)
+                .damageTaken(1_200)
+                .revision(1_000)
+                .build();
+        PlayerStatsData.STREAM_CODEC.encode(buf, offline);
+        PlayerStatsData.DELTA_STREAM_CODEC.encode(buf, offline.copyFields(PlayerStatsData.ALL_FIELDS));
+        PlayerStatsData.DELTA_STREAM_CODEC.encode(buf,
+                offline.copyFields(PlayerStatsData.FIELD_PLAY_TIME | PlayerStatsData.FIELD_BLOCKS_WALKED));
+
+        byte[] dictionary = new byte[buf.readableBytes()];
+        buf.readBytes(dictionary);
+        return dictionary;
+    }
+}
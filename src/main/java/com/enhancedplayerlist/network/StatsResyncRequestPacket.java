@@ -0,0 +1,24 @@
+// src/main/java/com/enhancedplayerlist/network/StatsResyncRequestPacket.java
+package com.enhancedplayerlist.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Sent by a client that detected a gap in the delta stream to request a full snapshot.
+ */
+public record StatsResyncRequestPacket() implements CustomPacketPayload {
+    public static final StatsResyncRequestPacket INSTANCE = new StatsResyncRequestPacket();
+
+    public static final ResourceLocation ID = NetworkHandler.STATS_RESYNC_ID;
+    public static final CustomPacketPayload.Type<StatsResyncRequestPacket> TYPE = new CustomPacketPayload.Type<>(ID);
+
+    public static final StreamCodec<FriendlyByteBuf, StatsResyncRequestPacket> STREAM_CODEC = StreamCodec.unit(INSTANCE);
+
+    @Override
+    public CustomPacketPayload.Type<?> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,28 @@
+// src/main/java/com/enhancedplayerlist/network/StatsSubscriptionPacket.java
+package com.enhancedplayerlist.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Sent by a client when its player list is opened or closed. The server only streams
+ * live updates to clients that have it open, and catches a client up when it opens.
+ */
+public record StatsSubscriptionPacket(boolean open) implements CustomPacketPayload {
+    public static final StatsSubscriptionPacket OPEN = new StatsSubscriptionPacket(true);
+    public static final StatsSubscriptionPacket CLOSED = new StatsSubscriptionPacket(false);
+
+    public static final ResourceLocation ID = NetworkHandler.STATS_SUBSCRIPTION_ID;
+    public static final CustomPacketPayload.Type<StatsSubscriptionPacket> TYPE = new CustomPacketPayload.Type<>(ID);
+
+    public static final StreamCodec<FriendlyByteBuf, StatsSubscriptionPacket> STREAM_CODEC =
+        ByteBufCodecs.BOOL.map(open -> open ? OPEN : CLOSED, StatsSubscriptionPacket::open).cast();
+
+    @Override
+    public CustomPacketPayload.Type<?> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,39 @@
+// src/main/java/com/enhancedplayerlist/network/StatsViewRequestPacket.java
+package com.enhancedplayerlist.network;
+
+import com.enhancedplayerlist.Config;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Sent by a client to choose which page of offline players it receives. Online
+ * players are always sent; offline players are sorted server-side and only the
+ * requested window is streamed.
+ */
+public record StatsViewRequestPacket(Config.OfflineSort sort, int offset, int limit) implements CustomPacketPayload {
+    public static final ResourceLocation ID = NetworkHandler.STATS_VIEW_ID;
+    public static final CustomPacketPayload.Type<StatsViewRequestPacket> TYPE = new CustomPacketPayload.Type<>(ID);
+
+    private static final StreamCodec<FriendlyByteBuf, Config.OfflineSort> SORT_CODEC =
+        ByteBufCodecs.VAR_INT.map(
+            ordinal -> Config.OfflineSort.values()[Math.floorMod(ordinal, Config.OfflineSort.values().length)],
+            Config.OfflineSort::ordinal);
+
+    public static final StreamCodec<FriendlyByteBuf, StatsViewRequestPacket> STREAM_CODEC = StreamCodec.composite(
+        SORT_CODEC,
+        StatsViewRequestPacket::sort,
+        ByteBufCodecs.VAR_INT,
+        StatsViewRequestPacket::offset,
+        ByteBufCodecs.VAR_INT,
+        StatsViewRequestPacket::limit,
+        StatsViewRequestPacket::new
+    );
+
+    @Override
+    public CustomPacketPayload.Type<?> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,290 @@
+// src/main/java/com/enhancedplayerlist/server/OfflineStatsStore.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.data.PlayerStatsData;
+import com.enhancedplayerlist.data.UuidSlotIndex;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Offline player stats kept in a memory-mapped file instead of on the heap.
+ * Rows are fixed width and stored column by column (one column per stat field plus
+ * the UUID halves and revision tracking), so sorting and filtering only touch the
+ * columns they read. Names are interned in a shared table and UUIDs map to slots
+ * through a {@link UuidSlotIndex}. Rows are compacted on removal, so
+ * slots {@code 0..size()-1} are always live. If the file cannot be mapped the
+ * columns fall back to a heap buffer with the same layout. The file is scratch space:
+ * a mapped file cannot be deleted on every platform, so it is left in place on close
+ * and the next store deletes it before mapping a fresh one. Server thread only.
+ */
+public class OfflineStatsStore {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Column ids and their widths in bytes
+    private static final int COL_UUID_MOST = 0;
+    private static final int COL_UUID_LEAST = 1;
+    private static final int COL_NAME = 2;
+    private static final int COL_LAST_SEEN = 3;
+    private static final int COL_PLAY_TIME = 4;
+    private static final int COL_DEATHS = 5;
+    private static final int COL_TIME_SINCE_DEATH = 6;
+    private static final int COL_MOB_KILLS = 7;
+    private static final int COL_BLOCKS_WALKED = 8;
+    private static final int COL_BLOCKS_MINED = 9;
+    private static final int COL_JUMPS = 10;
+    private static final int COL_DAMAGE_DEALT = 11;
+    private static final int COL_DAMAGE_TAKEN = 12;
+    private static final int COL_REVISION = 13;
+    private static final int COL_DIRTY_SINCE = 14;
+    private static final int COL_DIRTY_MASK = 15;
+    private static final int[] WIDTHS = {8, 8, 4, 8, 8, 4, 8, 4, 8, 8, 4, 4, 4, 8, 8, 4};
+    private static final int ROW_BYTES = Arrays.stream(WIDTHS).sum();
+
+    private final Path path;
+    private final List<String> names = new ArrayList<>();
+    private final Object2IntMap<String> nameIds = new Object2IntOpenHashMap<>();
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private int[] columnOffsets;
+    private int capacity;
+    private int size;
+    private final UuidSlotIndex index = new UuidSlotIndex();
+
+    public OfflineStatsStore(Path path) {
+        this.path = path;
+        nameIds.defaultReturnValue(-1);
+        try {
+            Files.createDirectories(path.getParent());
+            // Left behind by the previous store, which could not delete it while mapped
+            Files.deleteIfExists(path);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            LOGGER.warn("Could not map offline stats store {}, keeping it on the heap", path, e);
+            channel = null;
+        }
+        map(INITIAL_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int slotOf(UUID uuid) {
+        return index.get(uuid);
+    }
+
+    public boolean contains(UUID uuid) {
+        return slotOf(uuid) >= 0;
+    }
+
+    /**
+     * Inserts or overwrites the row for the entry's UUID, including its revision history.
+     */
+    public int put(PlayerStatsData data) {
+        int slot = slotOf(data.getUuid());
+        if (slot < 0) {
+            if (size == capacity) grow();
+            slot = size++;
+            putLong(COL_UUID_MOST, slot, data.getUuid().getMostSignificantBits());
+            putLong(COL_UUID_LEAST, slot, data.getUuid().getLeastSignificantBits());
+            index.put(data.getUuid(), slot);
+        }
+
+        putInt(COL_NAME, slot, internName(data.getPlayerName()));
+        putLong(COL_LAST_SEEN, slot, data.getLastSeen());
+        putLong(COL_PLAY_TIME, slot, data.getPlayTime());
+        putInt(COL_DEATHS, slot, data.getDeaths());
+        putLong(COL_TIME_SINCE_DEATH, slot, data.getTimeSinceDeath());
+        putInt(COL_MOB_KILLS, slot, data.getMobKills());
+        putLong(COL_BLOCKS_WALKED, slot, data.getBlocksWalked());
+        putLong(COL_BLOCKS_MINED, slot, data.getBlocksMined());
+        putInt(COL_JUMPS, slot, data.getJumps());
+        putFloat(COL_DAMAGE_DEALT, slot, data.getDamageDealt());
+        putFloat(COL_DAMAGE_TAKEN, slot, data.getDamageTaken());
+        putLong(COL_REVISION, slot, data.getRevision());
+        putLong(COL_DIRTY_SINCE, slot, data.getDirtySince());
+        putInt(COL_DIRTY_MASK, slot, data.getDirtyMask());
+        return slot;
+    }
+
+    /**
+     * Builds a heap copy of a row, e.g. to send it or to move it back on-heap.
+     */
+    public PlayerStatsData get(int slot) {
+        PlayerStatsData data = PlayerStatsData.builder()
+                .uuid(getUuid(slot))
+                .playerName(getName(slot))
+                .lastSeen(getLastSeen(slot))
+                .playTime(getPlayTime(slot))
+                .deaths(buffer.getInt(offset(COL_DEATHS, slot)))
+                .timeSinceDeath(buffer.getLong(offset(COL_TIME_SINCE_DEATH, slot)))
+                .mobKills(buffer.getInt(offset(COL_MOB_KILLS, slot)))
+                .blocksWalked(buffer.getLong(offset(COL_BLOCKS_WALKED, slot)))
+                .blocksMined(buffer.getLong(offset(COL_BLOCKS_MINED, slot)))
+                .jumps(buffer.getInt(offset(COL_JUMPS, slot)))
+                .damageDealt(buffer.getFloat(offset(COL_DAMAGE_DEALT, slot)))
+                .damageTaken(buffer.getFloat(offset(COL_DAMAGE_TAKEN, slot)))
+                .build();
+        data.restoreTracking(getRevision(slot),
+                buffer.getLong(offset(COL_DIRTY_SINCE, slot)),
+                buffer.getInt(offset(COL_DIRTY_MASK, slot)));
+        return data;
+    }
+
+    public boolean remove(UUID uuid) {
+        int slot = slotOf(uuid);
+        if (slot < 0) return false;
+
+        removeAt(slot);
+        return true;
+    }
+
+    /**
+     * Removes a row by slot. The last row moves into its place, so callers removing
+     * while iterating should walk slots from the end.
+     */
+    public void removeAt(int slot) {
+        index.remove(getUuidMost(slot), getUuidLeast(slot));
+        int last = --size;
+        if (slot != last) {
+            // Move the last row into the hole to keep rows dense
+            for (int col = 0; col < WIDTHS.length; col++) {
+                int width = WIDTHS[col];
+                if (width == 8) {
+                    buffer.putLong(offset(col, slot), buffer.getLong(offset(col, last)));
+                } else {
+                    buffer.putInt(offset(col, slot), buffer.getInt(offset(col, last)));
+                }
+            }
+            index.put(getUuidMost(slot), getUuidLeast(slot), slot);
+        }
+    }
+
+    // Column readers
+    public UUID getUuid(int slot) {
+        return new UUID(getUuidMost(slot), getUuidLeast(slot));
+    }
+
+    public long getUuidMost(int slot) {
+        return buffer.getLong(offset(COL_UUID_MOST, slot));
+    }
+
+    public long getUuidLeast(int slot) {
+        return buffer.getLong(offset(COL_UUID_LEAST, slot));
+    }
+
+    public String getName(int slot) {
+        return names.get(buffer.getInt(offset(COL_NAME, slot)));
+    }
+
+    public long getLastSeen(int slot) {
+        return buffer.getLong(offset(COL_LAST_SEEN, slot));
+    }
+
+    public long getPlayTime(int slot) {
+        return buffer.getLong(offset(COL_PLAY_TIME, slot));
+    }
+
+    public long getRevision(int slot) {
+        return buffer.getLong(offset(COL_REVISION, slot));
+    }
+
+    /**
+     * Releases the file. The mapping stays valid until it is collected, so the file
+     * itself is only deleted by the next store.
+     */
+    public void close() {
+        buffer = null;
+        if (channel != null) closeChannel();
+    }
+
+    private int internName(String name) {
+        int id = nameIds.getInt(name);
+        if (id < 0) {
+            id = names.size();
+            names.add(name);
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+
+    private int offset(int column, int slot) {
+        return columnOffsets[column] + slot * WIDTHS[column];
+    }
+
+    private void putLong(int column, int slot, long value) {
+        buffer.putLong(offset(column, slot), value);
+    }
+
+    private void putInt(int column, int slot, int value) {
+        buffer.putInt(offset(column, slot), value);
+    }
+
+    private void putFloat(int column, int slot, float value) {
+        buffer.putFloat(offset(column, slot), value);
+    }
+
+    private void map(int newCapacity) {
+        long bytes = (long) newCapacity * ROW_BYTES;
+        if (bytes > Integer.MAX_VALUE) throw new IllegalStateException("Offline stats store is full");
+
+        buffer = null;
+        if (channel != null) {
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            } catch (IOException e) {
+                LOGGER.warn("Could not map offline stats store {}, keeping it on the heap", path, e);
+                closeChannel();
+            }
+        }
+        if (buffer == null) buffer = ByteBuffer.allocate((int) bytes);
+
+        columnOffsets = new int[WIDTHS.length];
+        int offset = 0;
+        for (int col = 0; col < WIDTHS.length; col++) {
+            columnOffsets[col] = offset;
+            offset += WIDTHS[col] * newCapacity;
+        }
+        capacity = newCapacity;
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.debug("Failed to close offline stats store {}", path, e);
+        }
+        channel = null;
+    }
+
+    private void grow() {
+        ByteBuffer oldBuffer = buffer;
+        int[] oldOffsets = columnOffsets;
+
+        // Columns move when capacity changes: copy them out before remapping
+        byte[][] columns = new byte[WIDTHS.length][];
+        for (int col = 0; col < WIDTHS.length; col++) {
+            columns[col] = new byte[size * WIDTHS[col]];
+            oldBuffer.get(oldOffsets[col], columns[col]);
+        }
+        map(capacity * 2);
+        for (int col = 0; col < WIDTHS.length; col++) {
+            buffer.put(columnOffsets[col], columns[col]);
+        }
+    }
+}
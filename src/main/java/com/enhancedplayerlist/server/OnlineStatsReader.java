@@ -0,0 +1,126 @@
+// src/main/java/com/enhancedplayerlist/server/OnlineStatsReader.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.data.PlayerStatsData;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.stats.Stat;
+import net.minecraft.stats.Stats;
+import net.minecraft.stats.StatsCounter;
+import net.minecraft.world.level.block.Block;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads an online player's stats straight from their in-memory stats counter,
+ * producing the same values the stat file would contain after a save. The mined
+ * total is summed over the block registry once per session and then kept up to
+ * date from stat awards.
+ */
+public class OnlineStatsReader {
+    private static final Stat<ResourceLocation> PLAY_TIME = Stats.CUSTOM.get(Stats.PLAY_TIME);
+    private static final Stat<ResourceLocation> DEATHS = Stats.CUSTOM.get(Stats.DEATHS);
+    private static final Stat<ResourceLocation> TIME_SINCE_DEATH = Stats.CUSTOM.get(Stats.TIME_SINCE_DEATH);
+    private static final Stat<ResourceLocation> MOB_KILLS = Stats.CUSTOM.get(Stats.MOB_KILLS);
+    private static final Stat<ResourceLocation> WALK_ONE_CM = Stats.CUSTOM.get(Stats.WALK_ONE_CM);
+    private static final Stat<ResourceLocation> SPRINT_ONE_CM = Stats.CUSTOM.get(Stats.SPRINT_ONE_CM);
+    private static final Stat<ResourceLocation> WALK_ON_WATER_ONE_CM = Stats.CUSTOM.get(Stats.WALK_ON_WATER_ONE_CM);
+    private static final Stat<ResourceLocation> WALK_UNDER_WATER_ONE_CM = Stats.CUSTOM.get(Stats.WALK_UNDER_WATER_ONE_CM);
+    private static final Stat<ResourceLocation> JUMP = Stats.CUSTOM.get(Stats.JUMP);
+    private static final Stat<ResourceLocation> DAMAGE_DEALT = Stats.CUSTOM.get(Stats.DAMAGE_DEALT);
+    private static final Stat<ResourceLocation> DAMAGE_TAKEN = Stats.CUSTOM.get(Stats.DAMAGE_TAKEN);
+
+    // Stats whose awards change a displayed value, play time is handled separately
+    private static final Set<Stat<?>> TRACKED = Set.of(DEATHS, MOB_KILLS, WALK_ONE_CM, SPRINT_ONE_CM,
+            WALK_ON_WATER_ONE_CM, WALK_UNDER_WATER_ONE_CM, JUMP, DAMAGE_DEALT, DAMAGE_TAKEN);
+
+    // Resolved once the block registry is frozen
+    private static List<Stat<Block>> minedStats;
+    // Running blocks mined per online player, seeded by the first read
+    private static final Object2LongMap<UUID> minedTotals = new Object2LongOpenHashMap<>();
+
+    static boolean isTracked(Stat<?> stat) {
+        return TRACKED.contains(stat) || stat.getType() == Stats.BLOCK_MINED;
+    }
+
+    static boolean isPlayTime(Stat<?> stat) {
+        return stat == PLAY_TIME;
+    }
+
+    static boolean isDeaths(Stat<?> stat) {
+        return stat == DEATHS;
+    }
+
+    /**
+     * Adds a mined-block award to the player's running total. Called for every
+     * award the event bus lets through, before the counter itself is incremented.
+     */
+    public static void onStatAward(ServerPlayer player, Stat<?> stat, int amount) {
+        if (stat.getType() != Stats.BLOCK_MINED) return;
+
+        UUID uuid = player.getUUID();
+        if (minedTotals.containsKey(uuid)) {
+            minedTotals.put(uuid, minedTotals.getLong(uuid) + amount);
+        }
+    }
+
+    public static void forget(UUID uuid) {
+        minedTotals.removeLong(uuid);
+    }
+
+    public static void reset() {
+        minedTotals.clear();
+    }
+
+    public static PlayerStatsData.Builder read(ServerPlayer player) {
+        StatsCounter stats = player.getStats();
+
+        return PlayerStatsData.builder()
+                .uuid(player.getUUID())
+                .playerName(player.getGameProfile().getName())
+                .online(true)
+                .playTime(stats.getValue(PLAY_TIME))
+                .deaths(stats.getValue(DEATHS))
+                .timeSinceDeath(stats.getValue(TIME_SINCE_DEATH))
+                .mobKills(stats.getValue(MOB_KILLS))
+                .blocksWalked((long) stats.getValue(WALK_ONE_CM) +
+                        stats.getValue(SPRINT_ONE_CM) +
+                        stats.getValue(WALK_ON_WATER_ONE_CM) +
+                        stats.getValue(WALK_UNDER_WATER_ONE_CM))
+                .jumps(stats.getValue(JUMP))
+                .damageDealt(stats.getValue(DAMAGE_DEALT))
+                .damageTaken(stats.getValue(DAMAGE_TAKEN))
+                .blocksMined(minedTotal(player.getUUID(), stats));
+    }
+
+    private static long minedTotal(UUID uuid, StatsCounter stats) {
+        if (minedTotals.containsKey(uuid)) {
+            return minedTotals.getLong(uuid);
+        }
+        long total = sumMined(stats);
+        minedTotals.put(uuid, total);
+        return total;
+    }
+
+    private static long sumMined(StatsCounter stats) {
+        if (minedStats == null) {
+            List<Stat<Block>> resolved = new ArrayList<>();
+            for (Block block : BuiltInRegistries.BLOCK) {
+                resolved.add(Stats.BLOCK_MINED.get(block));
+            }
+            minedStats = resolved;
+        }
+
+        long total = 0L;
+        for (Stat<Block> stat : minedStats) {
+            total += stats.getValue(stat);
+        }
+        return total;
+    }
+}
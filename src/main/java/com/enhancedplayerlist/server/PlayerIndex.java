@@ -0,0 +1,42 @@
+// src/main/java/com/enhancedplayerlist/server/PlayerIndex.java
+package com.enhancedplayerlist.server;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact varint ids for player UUIDs, assigned on first sight and stable for the
+ * server session. Packets reference entries by index and carry each UUID only
+ * until the receiving client has learned it.
+ */
+public class PlayerIndex {
+    private static final Object2IntMap<UUID> indices = new Object2IntOpenHashMap<>();
+    private static final List<UUID> uuids = new ArrayList<>();
+
+    static {
+        indices.defaultReturnValue(-1);
+    }
+
+    public static int indexOf(UUID uuid) {
+        int index = indices.getInt(uuid);
+        if (index < 0) {
+            index = uuids.size();
+            uuids.add(uuid);
+            indices.put(uuid, index);
+        }
+        return index;
+    }
+
+    public static UUID uuidAt(int index) {
+        return uuids.get(index);
+    }
+
+    public static void reset() {
+        indices.clear();
+        uuids.clear();
+    }
+}
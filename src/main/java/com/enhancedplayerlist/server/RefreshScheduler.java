@@ -0,0 +1,151 @@
+// src/main/java/com/enhancedplayerlist/server/RefreshScheduler.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.Config;
+import com.mojang.logging.LogUtils;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads per-player stats refreshes over ticks. Players queued by the polling round
+ * or by the event tracker are re-read in round-robin order until the tick's budget of
+ * {@link Config#refreshBudgetMicros} is spent; time spent beyond it is carried over
+ * and taken off the next tick's budget. Clients are synced once the queue drains, at
+ * the latest every {@link Config#syncCoalesceTicks}, or right away for deaths.
+ * Entries are never searched for in the queue: a player moved ahead or removed is
+ * only dropped from the {@code queued} set, and stale queue entries are skipped when
+ * they come up.
+ */
+public class RefreshScheduler {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final long REPORT_INTERVAL = TimeUnit.MINUTES.toNanos(5);
+
+    // May hold stale entries for players no longer in queued
+    private static final ArrayDeque<UUID> queue = new ArrayDeque<>();
+    private static final Set<UUID> queued = new HashSet<>();
+    private static boolean urgent;
+    private static boolean pendingSync;
+    private static int ticksSinceSync;
+    // Time spent past previous budgets, owed by the next ticks
+    private static long debtNanos;
+
+    // Metrics since the last report
+    private static long refreshed;
+    private static long busyTicks;
+    private static long usedNanos;
+    private static long maxTickNanos;
+    private static long overrunTicks;
+    private static long lastReport = System.nanoTime();
+
+    /**
+     * Queues players for a refresh. Urgent players (deaths) go to the front and sync
+     * as soon as they are read.
+     */
+    public static void enqueue(Collection<UUID> players, boolean urgent) {
+        for (UUID uuid : players) {
+            if (urgent) {
+                // Move ahead of the round-robin order; a later entry is skipped once this one is read
+                queue.addFirst(uuid);
+                queued.add(uuid);
+            } else if (queued.add(uuid)) {
+                queue.addLast(uuid);
+            }
+        }
+        RefreshScheduler.urgent |= urgent;
+    }
+
+    public static void enqueueOnline(MinecraftServer server) {
+        List<UUID> online = new ArrayList<>();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            online.add(player.getUUID());
+        }
+        enqueue(online, false);
+    }
+
+    public static void tick(MinecraftServer server) {
+        ticksSinceSync++;
+        reportIfDue();
+        if (queued.isEmpty()) {
+            // Only stale entries left
+            queue.clear();
+            flushSync();
+            return;
+        }
+
+        long budget = TimeUnit.MICROSECONDS.toNanos(Config.refreshBudgetMicros);
+        long allowance = budget - debtNanos;
+        if (allowance <= 0) {
+            // Still paying off an earlier overrun; this tick is skipped
+            debtNanos -= budget;
+            return;
+        }
+
+        long start = System.nanoTime();
+        long elapsed = 0;
+        while (!queue.isEmpty() && elapsed < allowance) {
+            UUID uuid = queue.pollFirst();
+            // Already read from an urgent entry, or removed
+            if (!queued.remove(uuid)) continue;
+
+            ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+            if (player != null && ServerStatsManager.refreshOnlinePlayer(player)) {
+                pendingSync = true;
+            }
+            refreshed++;
+            elapsed = System.nanoTime() - start;
+        }
+
+        debtNanos = Math.max(0, elapsed - allowance);
+        busyTicks++;
+        usedNanos += elapsed;
+        maxTickNanos = Math.max(maxTickNanos, elapsed);
+        if (debtNanos > 0) overrunTicks++;
+
+        if (urgent || queued.isEmpty() || ticksSinceSync >= Config.syncCoalesceTicks) {
+            flushSync();
+        }
+    }
+
+    public static void remove(UUID uuid) {
+        queued.remove(uuid);
+    }
+
+    public static void reset() {
+        queue.clear();
+        queued.clear();
+        urgent = false;
+        pendingSync = false;
+        ticksSinceSync = 0;
+        debtNanos = 0;
+    }
+
+    private static void flushSync() {
+        urgent = false;
+        if (!pendingSync) return;
+
+        pendingSync = false;
+        ticksSinceSync = 0;
+        ServerStatsManager.syncToClients();
+    }
+
+    private static void reportIfDue() {
+        long now = System.nanoTime();
+        if (now - lastReport < REPORT_INTERVAL) return;
+        lastReport = now;
+
+        if (busyTicks > 0) {
+            long budget = TimeUnit.MICROSECONDS.toNanos(Config.refreshBudgetMicros);
+            // Only overruns are worth an operator's attention
+            LOGGER.atLevel(overrunTicks > 0 ? Level.INFO : Level.DEBUG)
+                    .log("Stats refresh: {} players over {} ticks, {}% of budget on average, max {} us, {} overruns",
+                    refreshed, busyTicks, usedNanos * 100 / Math.max(1, budget * busyTicks),
+                    TimeUnit.NANOSECONDS.toMicros(maxTickNanos), overrunTicks);
+        }
+        refreshed = busyTicks = usedNanos = maxTickNanos = overrunTicks = 0;
+    }
+}
@@ -2,40 +2,56 @@
 package com.enhancedplayerlist.server;
 
 import com.enhancedplayerlist.Config;
+import com.enhancedplayerlist.network.StatsCompression;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.fml.LogicalSide;
 import net.neoforged.fml.util.thread.EffectiveSide;
-import java.util.List;
 
 public class ServerScheduler {
     private static int tickCounter = 0;
-    private static long lastStatsSave = 0;
-    private static final long STATS_SAVE_COOLDOWN = 1000; // 1 second in ms
+    private static int reconcileCounter = 0;
 
     public static void onServerTick(MinecraftServer server) {
         if (EffectiveSide.get() != LogicalSide.SERVER) return;
 
+        // Publish any stats finished by the background loader
+        ServerStatsManager.processLoadedStats();
+
+        // Continue chunked snapshots; deltas held back for a finished one go out now
+        if (SnapshotTransfers.tick(server)) {
+            ServerStatsManager.syncToClients();
+        }
+
+        StatsCompression.reportIfDue();
+
+        if (Config.syncMode == Config.SyncMode.EVENT) {
+            StatsChangeTracker.onServerTick();
+        }
+
         tickCounter++;
         if (tickCounter >= Config.updateFrequency) {
             tickCounter = 0;
-            
-            List<ServerPlayer> players = server.getPlayerList().getPlayers();
-            if (!players.isEmpty()) {
-                long currentTime = System.currentTimeMillis();
-                // Only save stats if enough time has passed
-                if (currentTime - lastStatsSave >= STATS_SAVE_COOLDOWN) {
-                    server.execute(() -> {
-                        // Batch process stats saves
-                        for (ServerPlayer player : players) {
-                            player.getStats().save();
-                        }
-                        lastStatsSave = currentTime;
-                        
-                        // Combine load and sync into one operation
-                        ServerStatsManager.forceSync();
-                    });
-                }
+
+            // Online players are read from memory; the disk scan only picks up offline changes
+            if (Config.syncMode == Config.SyncMode.POLLING) {
+                RefreshScheduler.enqueueOnline(server);
+            }
+            if (!ServerStatsManager.isWatchingStatsDir()) {
+                ServerStatsManager.loadAllPlayerStats();
+            }
+        }
+
+        ServerStatsManager.syncDueViewChanges();
+
+        // Queued players are re-read a few at a time under the per-tick budget
+        RefreshScheduler.tick(server);
+
+        // The watcher reports changed files; a rare full scan catches anything it missed
+        if (ServerStatsManager.isWatchingStatsDir()) {
+            reconcileCounter++;
+            if (reconcileCounter >= Config.statsReconcileMinutes * 20 * 60) {
+                reconcileCounter = 0;
+                ServerStatsManager.loadAllPlayerStats();
             }
         }
     }
@@ -3,122 +3,135 @@ package com.enhancedplayerlist.server;
 
 import com.enhancedplayerlist.Config;
 import com.enhancedplayerlist.data.PlayerStatsData;
-import com.enhancedplayerlist.network.NetworkHandler;
-import com.enhancedplayerlist.network.PlayerStatsPacket;
-import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.enhancedplayerlist.data.StatsTable;
+import com.enhancedplayerlist.network.StatsChunkResumePacket;
+import com.enhancedplayerlist.network.StatsViewRequestPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.storage.LevelResource;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
 
 public class ServerStatsManager {
-    private static final Gson GSON = new Gson();
-    private static final Map<UUID, PlayerStatsData> playerStats = new ConcurrentHashMap<>();
-    private static final Map<UUID, Long> fileModificationCache = new ConcurrentHashMap<>();
+    // Online players only; offline entries live in the columnar store
+    private static final StatsTable playerStats = new StatsTable();
+    private static OfflineStatsStore offlineStore;
     private static final Duration CLEANUP_THRESHOLD = Duration.ofDays(30);
-    private static final long FILE_CACHE_DURATION = 5000; // 5 seconds
     private static MinecraftServer server;
+    private static StatsLoader loader;
+    private static StatsDirectoryWatcher watcher;
+    private static Path indexPath;
 
     public static void init(MinecraftServer server) {
         ServerStatsManager.server = server;
+        Path statsDir = server.getWorldPath(LevelResource.PLAYER_STATS_DIR);
+        loader = new StatsLoader(statsDir.toFile(), Config.statsLoaderThreads);
+        Path dataDir = server.getWorldPath(LevelResource.ROOT).resolve("data");
+        offlineStore = new OfflineStatsStore(dataDir.resolve("enhancedplayerlist_offline.cols"));
+
+        // Start from the index so the first scan only parses files changed since shutdown
+        indexPath = dataDir.resolve("enhancedplayerlist_stats.bin");
+        for (StatsIndexFile.Entry entry : StatsIndexFile.load(indexPath)) {
+            loader.seed(entry.uuid(), new StatsLoader.FileStamp(entry.lastModified(), entry.size()));
+            putStats(entry.uuid(), entry.data());
+        }
+
+        if (Config.statsDirMonitor == Config.StatsDirMonitor.WATCH) {
+            watcher = new StatsDirectoryWatcher(statsDir, loader);
+            if (!watcher.start()) {
+                watcher = null;
+            }
+        }
         loadAllPlayerStats();
-        cleanupOldPlayers();
+    }
+
+    /**
+     * Whether offline stat file changes arrive from the directory watcher, so the
+     * directory only needs an occasional full scan.
+     */
+    public static boolean isWatchingStatsDir() {
+        return watcher != null;
     }
 
     private static void cleanupOldPlayers() {
         if (!Config.showOfflinePlayers) {
-            long now = System.currentTimeMillis();
-            playerStats.values().removeIf(stats -> !stats.isOnline() &&
-                    (now - stats.getLastSeen() > CLEANUP_THRESHOLD.toMillis()));
+            long cutoff = System.currentTimeMillis() - CLEANUP_THRESHOLD.toMillis();
+            removeOfflineIf(slot -> offlineStore.getLastSeen(slot) < cutoff);
         }
     }
 
-    public static void loadAllPlayerStats() {
-        if (server == null) return;
+    /**
+     * Returns the entry for a player, materialising offline entries from the store.
+     */
+    private static PlayerStatsData getStats(UUID uuid) {
+        int slot = playerStats.slotOf(uuid);
+        if (slot >= 0) return playerStats.get(slot);
+        if (offlineStore == null) return null;
 
-        File statsDir = server.getWorldPath(LevelResource.PLAYER_STATS_DIR).toFile();
-        if (!statsDir.exists() || !statsDir.isDirectory()) return;
+        slot = offlineStore.slotOf(uuid);
+        return slot >= 0 ? offlineStore.get(slot) : null;
+    }
 
-        File[] statFiles = statsDir.listFiles((dir, name) -> name.endsWith(".json"));
-        if (statFiles == null) return;
+    private static boolean putStats(UUID uuid, PlayerStatsData data) {
+        data.inheritTracking(getStats(uuid));
+        if (!data.hasPendingChanges()) return false;
 
-        boolean dataUpdated = false;
-        long now = System.currentTimeMillis();
-        Set<UUID> processedUuids = new HashSet<>();
-
-        for (File statFile : statFiles) {
-            try {
-                String uuidStr = statFile.getName().replace(".json", "");
-                UUID uuid = UUID.fromString(uuidStr);
-                processedUuids.add(uuid);
-
-                // Check if file was modified since last read
-                long lastModified = statFile.lastModified();
-                Long cachedModified = fileModificationCache.get(uuid);
-                if (cachedModified != null && cachedModified == lastModified) {
-                    continue;
-                }
-
-                // Update cache
-                fileModificationCache.put(uuid, lastModified);
-
-                JsonObject jsonStats = GSON.fromJson(new BufferedReader(new FileReader(statFile)), JsonObject.class);
-                PlayerStatsData oldData = playerStats.get(uuid);
-                
-                // Create new data with builder
-                PlayerStatsData.Builder newDataBuilder = PlayerStatsData.builder()
-                        .uuid(uuidStr)
-                        .lastSeen(lastModified);
-
-                if (oldData != null) {
-                    newDataBuilder.online(oldData.isOnline())
-                                .playerName(oldData.getPlayerName());
-                    
-                    // Only update lastSeen if player is offline
-                    if (!oldData.isOnline()) {
-                        newDataBuilder.lastSeen(lastModified);
-                    }
-                }
-
-                PlayerStatsData newData = newDataBuilder.build();
-                newData.loadFromJson(jsonStats);
-
-                // Update player name for online players
-                ServerPlayer player = server.getPlayerList().getPlayer(uuid);
-                if (player != null) {
-                    newData.setOnline(true);
-                    newData.setPlayerName(player.getGameProfile().getName());
-                    newData.setLastSeen(System.currentTimeMillis());
-                } else if (newData.getPlayerName().isEmpty()) {
-                    // Only use profile cache for offline players with no name
-                    Optional.ofNullable(server.getProfileCache())
-                            .flatMap(cache -> cache.get(uuid))
-                            .ifPresent(profile -> newData.setPlayerName(profile.getName()));
-                }
-
-                playerStats.put(uuid, newData);
-                dataUpdated = true;
-
-            } catch (Exception e) {
-                e.printStackTrace();
+        data.stamp(StatsSyncManager.nextRevision(), StatsSyncManager.getSyncedRevision());
+        store(uuid, data);
+        return true;
+    }
+
+    // Online entries stay on the heap, offline ones move into the store
+    private static void store(UUID uuid, PlayerStatsData data) {
+        if (data.isOnline()) {
+            playerStats.put(uuid, data);
+            offlineStore.remove(uuid);
+        } else {
+            offlineStore.put(data);
+            playerStats.remove(uuid);
+        }
+    }
+
+    private static void markChanged(PlayerStatsData data) {
+        if (data.hasPendingChanges()) {
+            data.stamp(StatsSyncManager.nextRevision(), StatsSyncManager.getSyncedRevision());
+        }
+    }
+
+    private static void removeOfflineIf(IntPredicate filter) {
+        // Walk from the end: removal moves the last row into the freed slot
+        for (int slot = offlineStore.size() - 1; slot >= 0; slot--) {
+            if (filter.test(slot)) {
+                offlineStore.removeAt(slot);
+                // Bump the revision so clients holding the entry drop it
+                StatsSyncManager.nextRevision();
             }
         }
+    }
 
-        // Clean old cache entries
-        fileModificationCache.entrySet().removeIf(entry -> 
-            now - entry.getValue() > FILE_CACHE_DURATION);
+    public static void loadAllPlayerStats() {
+        if (server == null || loader == null) return;
 
-        // Remove stats for deleted player files if we're not showing offline players
-        if (!Config.showOfflinePlayers) {
-            playerStats.keySet().removeIf(uuid -> !processedUuids.contains(uuid));
+        if (Config.asyncStatsLoading) {
+            loader.requestScan();
+        } else if (applyScanResult(loader.scan())) {
+            syncToClients();
+        }
+    }
+
+    /**
+     * Publishes stats parsed by the background loader. Called every server tick.
+     */
+    public static void processLoadedStats() {
+        if (server == null || loader == null) return;
+
+        boolean dataUpdated = false;
+        StatsLoader.ScanResult result;
+        while ((result = loader.poll()) != null) {
+            dataUpdated |= applyScanResult(result);
         }
 
         if (dataUpdated) {
@@ -126,16 +139,104 @@ public class ServerStatsManager {
         }
     }
 
+    private static boolean applyScanResult(StatsLoader.ScanResult result) {
+        boolean dataUpdated = false;
+
+        for (StatsLoader.LoadedStats loaded : result.loaded()) {
+            UUID uuid = loaded.uuid();
+            // Online players are read from their stats counter, their file may be stale
+            if (server.getPlayerList().getPlayer(uuid) != null) continue;
+
+            PlayerStatsData newData = loaded.data();
+            int slot = offlineStore.slotOf(uuid);
+            String oldName = slot >= 0 ? offlineStore.getName(slot) : null;
+
+            if (oldName != null) {
+                newData.setPlayerName(oldName);
+            }
+
+            if (newData.getPlayerName().isEmpty()) {
+                // Only use profile cache for offline players with no name
+                Optional.ofNullable(server.getProfileCache())
+                        .flatMap(cache -> cache.get(uuid))
+                        .ifPresent(profile -> newData.setPlayerName(profile.getName()));
+            }
+
+            dataUpdated |= putStats(uuid, newData);
+            loader.markApplied(loaded);
+        }
+
+        // Remove stats for deleted player files if we're not showing offline players
+        if (!Config.showOfflinePlayers && result.complete()) {
+            Set<UUID> present = result.presentUuids();
+            removeOfflineIf(slot -> !present.contains(offlineStore.getUuid(slot)));
+        }
+        cleanupOldPlayers();
+
+        return dataUpdated;
+    }
+
+    /**
+     * Re-reads one online player from memory. Returns true if anything changed; the
+     * caller decides when to sync.
+     */
+    static boolean refreshOnlinePlayer(ServerPlayer player) {
+        UUID uuid = player.getUUID();
+        PlayerStatsData oldData = getStats(uuid);
+
+        // Keep lastSeen stable while online so it does not change every refresh
+        PlayerStatsData newData = OnlineStatsReader.read(player)
+                .lastSeen(oldData != null ? oldData.getLastSeen() : System.currentTimeMillis())
+                .build();
+        return putStats(uuid, newData);
+    }
+
     public static void syncToClients() {
         if (server == null) return;
 
-        Map<UUID, PlayerStatsData> visibleStats = playerStats.entrySet().stream()
-                .filter(e -> e.getValue().isOnline() || Config.showOfflinePlayers)
-                .collect(HashMap::new, (m, e) -> m.put(e.getKey(), e.getValue()), HashMap::putAll);
+        StatsSyncManager.sync(server, playerStats, offlineStore);
+    }
+
+    public static void onResyncRequested(ServerPlayer player) {
+        if (server == null) return;
+
+        StatsSyncManager.sendSnapshot(server, player, playerStats, offlineStore);
+    }
+
+    public static void onSubscriptionChanged(ServerPlayer player, boolean open) {
+        if (server == null) return;
+
+        // Only the opening client is behind; everyone else subscribed is already current
+        if (StatsSyncManager.setSubscribed(player, open)) {
+            syncToClients();
+        }
+    }
+
+    public static void onChunkResumeRequested(ServerPlayer player, StatsChunkResumePacket request) {
+        if (server == null) return;
+
+        // The transfer is gone (superseded or finished), so start over with a fresh snapshot
+        if (!SnapshotTransfers.resume(player, request.transferId(), request.nextIndex())) {
+            StatsSyncManager.sendSnapshot(server, player, playerStats, offlineStore);
+        }
+    }
+
+    public static void onViewRequested(ServerPlayer player, StatsViewRequestPacket request) {
+        if (server == null) return;
+
+        // Unchanged or too frequent requests are not synced right away
+        StatsSyncManager.View view = new StatsSyncManager.View(request.sort(), request.offset(), request.limit());
+        if (StatsSyncManager.setView(player, view, offlineStore != null ? offlineStore.size() : 0)) {
+            syncToClients();
+        }
+    }
 
-        if (!visibleStats.isEmpty()) {
-            PlayerStatsPacket packet = new PlayerStatsPacket(visibleStats);
-            NetworkHandler.sendToAllPlayers(packet);
+    /**
+     * Syncs view changes that were held back by rate limiting once they are due.
+     */
+    public static void syncDueViewChanges() {
+        if (server != null && StatsSyncManager.hasDueViewChanges()) {
+            syncToClients();
         }
     }
 
@@ -146,36 +247,79 @@ public class ServerStatsManager {
         }
     }
 
-    public static void onPlayerJoin(Player player) {
-        UUID uuid = player.getUUID();
-        PlayerStatsData data = playerStats.computeIfAbsent(uuid, k -> 
-            PlayerStatsData.builder()
-                .uuid(k.toString())
-                .playerName(player.getGameProfile().getName())
-                .online(true)
-                .lastSeen(System.currentTimeMillis())
-                .build()
-        );
-        
-        if (data != null) {
-            data.setOnline(true);
-            data.setPlayerName(player.getGameProfile().getName());
-            syncToClients();
-        }
+    public static void onPlayerJoin(ServerPlayer player) {
+        if (server == null) return;
+
+        refreshOnlinePlayer(player);
+        syncToClients();
     }
 
-    public static void onPlayerLeave(Player player) {
+    public static void onPlayerLeave(ServerPlayer player) {
         UUID uuid = player.getUUID();
-        PlayerStatsData data = playerStats.get(uuid);
-        if (data != null) {
+        if (server != null) {
+            // Capture the final values before the entry goes offline
+            refreshOnlinePlayer(player);
+        }
+
+        int slot = playerStats.slotOf(uuid);
+        if (slot >= 0) {
+            PlayerStatsData data = playerStats.get(slot);
             data.setOnline(false);
+            markChanged(data);
+            if (offlineStore != null) {
+                store(uuid, data);
+            } else {
+                playerStats.put(uuid, data);
+            }
             syncToClients();
         }
+        StatsSyncManager.onPlayerLeave(uuid);
+        SnapshotTransfers.cancel(uuid);
+        RefreshScheduler.remove(uuid);
+        OnlineStatsReader.forget(uuid);
+    }
+
+    private static void saveIndex() {
+        if (loader == null || indexPath == null || offlineStore == null) return;
+
+        List<StatsIndexFile.Entry> entries = new ArrayList<>(playerStats.size() + offlineStore.size());
+        for (int slot = 0; slot < playerStats.size(); slot++) {
+            addIndexEntry(entries, playerStats.getUuid(slot), playerStats.get(slot));
+        }
+        for (int slot = 0; slot < offlineStore.size(); slot++) {
+            addIndexEntry(entries, offlineStore.getUuid(slot), offlineStore.get(slot));
+        }
+        StatsIndexFile.save(indexPath, entries);
+    }
+
+    private static void addIndexEntry(List<StatsIndexFile.Entry> entries, UUID uuid, PlayerStatsData data) {
+        // Only entries backed by a parsed file; the rest are re-read next start
+        StatsLoader.FileStamp stamp = loader.getStamp(uuid);
+        if (stamp != null) {
+            entries.add(new StatsIndexFile.Entry(uuid, stamp.lastModified(), stamp.size(), data));
+        }
     }
 
     public static void onServerStopping() {
+        saveIndex();
         server = null;
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        if (loader != null) {
+            loader.shutdown();
+            loader = null;
+        }
         playerStats.clear();
-        fileModificationCache.clear();
+        if (offlineStore != null) {
+            offlineStore.close();
+            offlineStore = null;
+        }
+        StatsSyncManager.reset();
+        SnapshotTransfers.reset();
+        StatsChangeTracker.reset();
+        RefreshScheduler.reset();
+        OnlineStatsReader.reset();
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+// src/main/java/com/enhancedplayerlist/server/SnapshotTransfers.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.Config;
+import com.enhancedplayerlist.network.NetworkHandler;
+import com.enhancedplayerlist.network.PlayerStatsPacket;
+import com.enhancedplayerlist.network.StatsChunkPacket;
+import com.mojang.logging.LogUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import org.slf4j.Logger;
+
+import java.util.*;
+
+/**
+ * Sends full snapshots that encode larger than one fragment as a sequence of
+ * {@link StatsChunkPacket}s, a few per player per tick, so one huge frame never
+ * exceeds the payload limit or holds up the connection. Whether to chunk is decided
+ * from a size bound, so snapshots that clearly fit are encoded by netty as usual and
+ * only chunked ones are encoded on the server thread. A client that misses a
+ * fragment asks to resume from it. Deltas for a player are held back until its
+ * transfer is complete, since the client cannot apply them before the snapshot.
+ */
+public class SnapshotTransfers {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Map<UUID, Transfer> transfers = new LinkedHashMap<>();
+    private static long nextTransferId;
+
+    private static class Transfer {
+        final long id;
+        final byte[] bytes;
+        final int chunkSize;
+        final int count;
+        int next;
+
+        Transfer(long id, byte[] bytes, int chunkSize) {
+            this.id = id;
+            this.bytes = bytes;
+            this.chunkSize = chunkSize;
+            this.count = (bytes.length + chunkSize - 1) / chunkSize;
+        }
+    }
+
+    /**
+     * Sends a snapshot whole if it fits in one fragment, otherwise starts a chunked
+     * transfer that replaces any transfer still running for this player.
+     */
+    public static void send(ServerPlayer player, PlayerStatsPacket packet) {
+        int chunkSize = Math.min(Config.snapshotChunkKb * 1024, StatsChunkPacket.MAX_CHUNK_SIZE);
+        // Local connections hand the packet over without encoding it
+        if (chunkSize <= 0 || player.connection.getConnection().isMemoryConnection()) {
+            transfers.remove(player.getUUID());
+            NetworkHandler.sendToPlayer(player, packet);
+            return;
+        }
+
+        if (packet.maxEncodedSize() <= chunkSize) {
+            transfers.remove(player.getUUID());
+            NetworkHandler.sendToPlayer(player, packet);
+            return;
+        }
+
+        // The bound is loose, so a snapshot near the limit may still fit once encoded
+        ByteBuf encoded = Unpooled.buffer();
+        PlayerStatsPacket.STREAM_CODEC.encode(new FriendlyByteBuf(encoded), packet);
+        if (encoded.readableBytes() <= chunkSize) {
+            transfers.remove(player.getUUID());
+            NetworkHandler.sendToPlayer(player, packet);
+            return;
+        }
+
+        byte[] bytes = new byte[encoded.readableBytes()];
+        encoded.readBytes(bytes);
+        Transfer transfer = new Transfer(++nextTransferId, bytes, chunkSize);
+        transfers.put(player.getUUID(), transfer);
+        LOGGER.debug("Sending {} byte snapshot to {} in {} fragments", bytes.length,
+                player.getGameProfile().getName(), transfer.count);
+
+        // Start right away with this tick's share
+        sendChunks(player, transfer);
+        if (transfer.next >= transfer.count) transfers.remove(player.getUUID());
+    }
+
+    /**
+     * Sends each running transfer its share of fragments for this tick. Returns true if
+     * any transfer finished, so deltas held back for it can go out.
+     */
+    public static boolean tick(MinecraftServer server) {
+        if (transfers.isEmpty()) return false;
+
+        boolean finished = false;
+        Iterator<Map.Entry<UUID, Transfer>> it = transfers.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Transfer> entry = it.next();
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player == null) {
+                it.remove();
+                continue;
+            }
+
+            Transfer transfer = entry.getValue();
+            sendChunks(player, transfer);
+            if (transfer.next >= transfer.count) {
+                it.remove();
+                finished = true;
+            }
+        }
+        return finished;
+    }
+
+    /**
+     * Rewinds a running transfer to a fragment the client missed. Returns false if the
+     * transfer is no longer held, in which case the client needs a fresh snapshot.
+     */
+    public static boolean resume(ServerPlayer player, long transferId, int nextIndex) {
+        Transfer transfer = transfers.get(player.getUUID());
+        if (transfer == null || transfer.id != transferId || nextIndex < 0 || nextIndex >= transfer.count) {
+            return false;
+        }
+
+        transfer.next = Math.min(transfer.next, nextIndex);
+        return true;
+    }
+
+    public static boolean isPending(UUID uuid) {
+        return transfers.containsKey(uuid);
+    }
+
+    public static void cancel(UUID uuid) {
+        transfers.remove(uuid);
+    }
+
+    public static void reset() {
+        transfers.clear();
+    }
+
+    private static void sendChunks(ServerPlayer player, Transfer transfer) {
+        for (int sent = 0; sent < Config.snapshotChunksPerTick && transfer.next < transfer.count; sent++) {
+            int from = transfer.next * transfer.chunkSize;
+            int to = Math.min(from + transfer.chunkSize, transfer.bytes.length);
+            NetworkHandler.sendToPlayer(player, new StatsChunkPacket(transfer.id, transfer.next, transfer.count,
+                    Arrays.copyOfRange(transfer.bytes, from, to)));
+            transfer.next++;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// src/main/java/com/enhancedplayerlist/server/StatsChangeTracker.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.Config;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.stats.Stat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Event-driven update mode. Stat awards mark players dirty and dirty players are
+ * handed to the {@link RefreshScheduler} at most once per {@link Config#syncCoalesceTicks}
+ * window, so idle players cost nothing. Deaths flush on the next tick.
+ */
+public class StatsChangeTracker {
+    private static final int TICKS_PER_MINUTE = 20 * 60;
+    private static final Set<UUID> dirtyPlayers = new HashSet<>();
+    private static boolean urgent;
+    private static int ticksSinceFlush;
+
+    public static void onStatAward(ServerPlayer player, Stat<?> stat, int amount) {
+        if (OnlineStatsReader.isPlayTime(stat)) {
+            // Play time ticks constantly but is only displayed to the minute
+            int current = player.getStats().getValue(stat);
+            if ((current + amount) / TICKS_PER_MINUTE == current / TICKS_PER_MINUTE) return;
+        } else if (!OnlineStatsReader.isTracked(stat)) {
+            return;
+        }
+
+        dirtyPlayers.add(player.getUUID());
+        if (OnlineStatsReader.isDeaths(stat)) {
+            urgent = true;
+        }
+    }
+
+    public static void onServerTick() {
+        ticksSinceFlush++;
+        if (dirtyPlayers.isEmpty()) return;
+        if (!urgent && ticksSinceFlush < Config.syncCoalesceTicks) return;
+
+        RefreshScheduler.enqueue(dirtyPlayers, urgent);
+        dirtyPlayers.clear();
+        urgent = false;
+        ticksSinceFlush = 0;
+    }
+
+    public static void reset() {
+        dirtyPlayers.clear();
+        urgent = false;
+        ticksSinceFlush = 0;
+    }
+}
@@ -0,0 +1,102 @@
+// src/main/java/com/enhancedplayerlist/server/StatsDirectoryWatcher.java
+package com.enhancedplayerlist.server;
+
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Watches the stats directory and feeds changed files to the {@link StatsLoader},
+ * replacing the per-cycle directory listing. Some file systems (network mounts in
+ * particular) do not report every change, so a low-frequency full scan is still
+ * run as a safety net.
+ */
+public class StatsDirectoryWatcher {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private final Path statsDir;
+    private final StatsLoader loader;
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean closed;
+
+    public StatsDirectoryWatcher(Path statsDir, StatsLoader loader) {
+        this.statsDir = statsDir;
+        this.loader = loader;
+    }
+
+    /**
+     * Starts watching. Returns false if the directory cannot be watched, in which
+     * case the caller should keep polling.
+     */
+    public boolean start() {
+        try {
+            Files.createDirectories(statsDir);
+            watchService = statsDir.getFileSystem().newWatchService();
+            statsDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.warn("Cannot watch stats directory {}, falling back to polling", statsDir, e);
+            close();
+            return false;
+        }
+
+        thread = new Thread(this::run, "EnhancedPlayerList-StatsWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public void close() {
+        closed = true;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to close stats directory watcher", e);
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                WatchKey key = watchService.take();
+                Set<UUID> changed = new HashSet<>();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Events were dropped, fall back to a full scan
+                        loader.requestScan();
+                        continue;
+                    }
+
+                    String fileName = event.context().toString();
+                    if (!fileName.endsWith(".json")) continue;
+                    try {
+                        changed.add(UUID.fromString(fileName.substring(0, fileName.length() - 5)));
+                    } catch (IllegalArgumentException ignored) {
+                        // Not a player stats file
+                    }
+                }
+
+                if (!changed.isEmpty()) {
+                    loader.requestFiles(changed);
+                }
+                if (!key.reset()) {
+                    LOGGER.warn("Stats directory {} is no longer accessible, stopped watching", statsDir);
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// src/main/java/com/enhancedplayerlist/server/StatsIndexFile.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.data.PlayerStatsData;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary index of every known stats file: UUID, name, the file's mtime and
+ * size, and the extracted stat fields. Read in one sequential pass at startup so
+ * only files whose mtime or size changed since the last shutdown are re-parsed.
+ */
+public class StatsIndexFile {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAGIC = 0x45504C49; // "EPLI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    // UUID, empty name, mtime, size and the stat fields
+    private static final int MIN_ENTRY_SIZE = 16 + 2 + 8 + 8 + 60;
+
+    public record Entry(UUID uuid, long lastModified, long size, PlayerStatsData data) {}
+
+    public static List<Entry> load(Path path) {
+        if (!Files.isRegularFile(path)) return List.of();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                LOGGER.info("Ignoring stats index {} written by another version", path);
+                return List.of();
+            }
+
+            int count = in.readInt();
+            long maxCount = (Files.size(path) - HEADER_SIZE) / MIN_ENTRY_SIZE;
+            if (count < 0 || count > maxCount) {
+                LOGGER.warn("Ignoring stats index {} claiming {} entries, stats files will be parsed", path, count);
+                return List.of();
+            }
+
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                String name = in.readUTF();
+                long lastModified = in.readLong();
+                long size = in.readLong();
+                PlayerStatsData data = PlayerStatsData.builder()
+                        .uuid(uuid)
+                        .playerName(name)
+                        .lastSeen(in.readLong())
+                        .playTime(in.readLong())
+                        .deaths(in.readInt())
+                        .timeSinceDeath(in.readLong())
+                        .mobKills(in.readInt())
+                        .blocksWalked(in.readLong())
+                        .blocksMined(in.readLong())
+                        .jumps(in.readInt())
+                        .damageDealt(in.readFloat())
+                        .damageTaken(in.readFloat())
+                        .build();
+                entries.add(new Entry(uuid, lastModified, size, data));
+            }
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to read stats index {}, stats files will be parsed", path, e);
+            return List.of();
+        }
+    }
+
+    public static void save(Path path, List<Entry> entries) {
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(entries.size());
+                for (Entry entry : entries) {
+                    PlayerStatsData data = entry.data();
+                    out.writeLong(entry.uuid().getMostSignificantBits());
+                    out.writeLong(entry.uuid().getLeastSignificantBits());
+                    out.writeUTF(data.getPlayerName());
+                    out.writeLong(entry.lastModified());
+                    out.writeLong(entry.size());
+                    out.writeLong(data.getLastSeen());
+                    out.writeLong(data.getPlayTime());
+                    out.writeInt(data.getDeaths());
+                    out.writeLong(data.getTimeSinceDeath());
+                    out.writeInt(data.getMobKills());
+                    out.writeLong(data.getBlocksWalked());
+                    out.writeLong(data.getBlocksMined());
+                    out.writeInt(data.getJumps());
+                    out.writeFloat(data.getDamageDealt());
+                    out.writeFloat(data.getDamageTaken());
+                }
+            }
+            // Replace the old index only once the new one is complete
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write stats index {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+// src/main/java/com/enhancedplayerlist/server/StatsLoader.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.data.PlayerStatsData;
+import com.enhancedplayerlist.data.StatsJsonReader;
+import com.mojang.logging.LogUtils;
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scans the world's stats directory and parses changed stat files.
+ * In async mode the directory listing, mtime checks and JSON parsing run on a
+ * dedicated scanner thread with a bounded parse pool; finished results are queued
+ * for the server thread to publish. Individual files reported by the
+ * {@link StatsDirectoryWatcher} are loaded the same way without a full listing.
+ */
+public class StatsLoader {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    // The mtime and size a stats file had when it was last parsed
+    public record FileStamp(long lastModified, long size) {}
+
+    public record LoadedStats(UUID uuid, FileStamp stamp, PlayerStatsData data) {}
+
+    // presentUuids is only meaningful for complete scans of the whole directory
+    public record ScanResult(List<LoadedStats> loaded, Set<UUID> presentUuids, boolean complete) {}
+
+    private final File statsDir;
+    // Stamps of files parsed or being parsed, so scans do not queue them twice
+    private final Map<UUID, FileStamp> fileModificationCache = new ConcurrentHashMap<>();
+    // Stamps of files whose stats were applied, the only ones the index may record
+    private final Map<UUID, FileStamp> appliedStamps = new ConcurrentHashMap<>();
+    private final Queue<ScanResult> completed = new ConcurrentLinkedQueue<>();
+    private final Set<UUID> pendingFiles = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scanInFlight = new AtomicBoolean();
+    private final AtomicBoolean fullScanRequested = new AtomicBoolean();
+    private final ExecutorService scanExecutor;
+    private final ExecutorService parseExecutor;
+    private volatile boolean shutdown;
+
+    public StatsLoader(File statsDir, int parseThreads) {
+        this.statsDir = statsDir;
+        this.scanExecutor = Executors.newSingleThreadExecutor(namedDaemonFactory("EnhancedPlayerList-StatsScanner"));
+        this.parseExecutor = Executors.newFixedThreadPool(parseThreads, namedDaemonFactory("EnhancedPlayerList-StatsParser"));
+    }
+
+    /**
+     * Runs a full scan on the calling thread and returns the changed files.
+     */
+    public ScanResult scan() {
+        return scan(null);
+    }
+
+    /**
+     * Queues a background scan of the whole directory. Requests made while a scan
+     * is running are picked up as soon as it finishes.
+     */
+    public void requestScan() {
+        fullScanRequested.set(true);
+        schedule();
+    }
+
+    /**
+     * Queues a background load of the given players' stat files only.
+     */
+    public void requestFiles(Collection<UUID> uuids) {
+        pendingFiles.addAll(uuids);
+        schedule();
+    }
+
+    private void schedule() {
+        if (shutdown) return;
+        if (!scanInFlight.compareAndSet(false, true)) return;
+
+        scanExecutor.execute(this::runScans);
+    }
+
+    private void runScans() {
+        try {
+            while (!shutdown) {
+                ScanResult result;
+                if (fullScanRequested.getAndSet(false)) {
+                    // A full scan covers every pending file
+                    pendingFiles.clear();
+                    result = scan(parseExecutor);
+                } else if (!pendingFiles.isEmpty()) {
+                    List<UUID> batch = new ArrayList<>(pendingFiles);
+                    pendingFiles.removeAll(batch);
+                    result = scanFiles(batch, parseExecutor);
+                } else {
+                    break;
+                }
+
+                if (!shutdown && (!result.loaded().isEmpty() || result.complete())) {
+                    completed.add(result);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to scan player stats directory", e);
+        } finally {
+            scanInFlight.set(false);
+        }
+
+        // Pick up requests that arrived after the loop ended
+        if (!shutdown && (fullScanRequested.get() || !pendingFiles.isEmpty())) {
+            schedule();
+        }
+    }
+
+    /**
+     * Marks a file as already parsed, e.g. from the persistent index, so scans skip
+     * it until its mtime or size changes.
+     */
+    public void seed(UUID uuid, FileStamp stamp) {
+        fileModificationCache.put(uuid, stamp);
+        appliedStamps.put(uuid, stamp);
+    }
+
+    /**
+     * Records that a parsed file's stats are now the ones held for its player.
+     */
+    public void markApplied(LoadedStats loaded) {
+        appliedStamps.put(loaded.uuid(), loaded.stamp());
+    }
+
+    /**
+     * Returns the stamp of the file the held stats were read from, or null if the
+     * held stats do not come from a parsed file.
+     */
+    public FileStamp getStamp(UUID uuid) {
+        return appliedStamps.get(uuid);
+    }
+
+    /**
+     * Returns the next finished background scan, or null if none is ready.
+     */
+    public ScanResult poll() {
+        return completed.poll();
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        scanExecutor.shutdownNow();
+        parseExecutor.shutdownNow();
+        completed.clear();
+        pendingFiles.clear();
+        fileModificationCache.clear();
+        appliedStamps.clear();
+    }
+
+    private ScanResult scan(ExecutorService parsePool) {
+        if (!statsDir.exists() || !statsDir.isDirectory()) return new ScanResult(List.of(), Set.of(), true);
+
+        File[] statFiles = statsDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (statFiles == null) return new ScanResult(List.of(), Set.of(), true);
+
+        Set<UUID> presentUuids = new HashSet<>();
+        List<Callable<LoadedStats>> parseTasks = new ArrayList<>();
+
+        for (File statFile : statFiles) {
+            UUID uuid;
+            try {
+                uuid = UUID.fromString(statFile.getName().replace(".json", ""));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            presentUuids.add(uuid);
+            addParseTaskIfModified(uuid, statFile, parseTasks);
+        }
+
+        // Forget files that no longer exist
+        fileModificationCache.keySet().retainAll(presentUuids);
+        appliedStamps.keySet().retainAll(presentUuids);
+
+        return new ScanResult(runParseTasks(parseTasks, parsePool), presentUuids, true);
+    }
+
+    private ScanResult scanFiles(Collection<UUID> uuids, ExecutorService parsePool) {
+        List<Callable<LoadedStats>> parseTasks = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            File statFile = new File(statsDir, uuid + ".json");
+            if (statFile.isFile()) {
+                addParseTaskIfModified(uuid, statFile, parseTasks);
+            }
+        }
+        return new ScanResult(runParseTasks(parseTasks, parsePool), Set.of(), false);
+    }
+
+    private void addParseTaskIfModified(UUID uuid, File statFile, List<Callable<LoadedStats>> parseTasks) {
+        // Check if file was modified since last read
+        long lastModified = statFile.lastModified();
+        FileStamp stamp = new FileStamp(lastModified, statFile.length());
+        if (stamp.equals(fileModificationCache.get(uuid))) {
+            return;
+        }
+
+        fileModificationCache.put(uuid, stamp);
+        parseTasks.add(() -> {
+            LoadedStats loaded = parse(uuid, statFile, stamp);
+            // Forget a failed file so the next scan tries it again
+            if (loaded == null) fileModificationCache.remove(uuid, stamp);
+            return loaded;
+        });
+    }
+
+    private static List<LoadedStats> runParseTasks(List<Callable<LoadedStats>> parseTasks, ExecutorService parsePool) {
+        List<LoadedStats> loaded = new ArrayList<>(parseTasks.size());
+        if (parsePool == null) {
+            for (Callable<LoadedStats> task : parseTasks) {
+                addIfPresent(loaded, callQuietly(task));
+            }
+        } else {
+            try {
+                for (Future<LoadedStats> future : parsePool.invokeAll(parseTasks)) {
+                    addIfPresent(loaded, future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                LOGGER.error("Failed to parse player stats", e.getCause());
+            }
+        }
+        return loaded;
+    }
+
+    private static LoadedStats parse(UUID uuid, File statFile, FileStamp stamp) {
+        try (Reader reader = new BufferedReader(new FileReader(statFile))) {
+            PlayerStatsData.Builder builder = PlayerStatsData.builder()
+                    .uuid(uuid)
+                    .lastSeen(stamp.lastModified());
+            StatsJsonReader.read(reader, builder);
+            return new LoadedStats(uuid, stamp, builder.build());
+        } catch (Exception e) {
+            LOGGER.error("Failed to read stats file {}", statFile.getName(), e);
+            return null;
+        }
+    }
+
+    private static LoadedStats callQuietly(Callable<LoadedStats> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void addIfPresent(List<LoadedStats> loaded, LoadedStats stats) {
+        if (stats != null) loaded.add(stats);
+    }
+
+    private static ThreadFactory namedDaemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,325 @@
+// src/main/java/com/enhancedplayerlist/server/StatsSyncManager.java
+package com.enhancedplayerlist.server;
+
+import com.enhancedplayerlist.Config;
+import com.enhancedplayerlist.data.PlayerStatsData;
+import com.enhancedplayerlist.data.StatsTable;
+import com.enhancedplayerlist.network.NetworkHandler;
+import com.enhancedplayerlist.network.PlayerStatsDeltaPacket;
+import com.enhancedplayerlist.network.PlayerStatsPacket;
+import com.enhancedplayerlist.network.SharedBody;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntHeapPriorityQueue;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks what each client holds and sends it either a full snapshot (on join or
+ * resync) or only the entries changed since its last revision. A client holds the
+ * online players plus one page of offline players chosen by its {@link View}, so
+ * traffic scales with what it can display rather than with the world's history.
+ * Every change to an entry is stamped with a new revision from {@link #nextRevision()}.
+ * Offline entries are ranked and revision-checked straight from the columns of the
+ * {@link OfflineStatsStore}; only rows that are actually sent are materialised.
+ * Live deltas only go to clients that have their player list open; a client that
+ * opens it is caught up with one delta from the revision it last received.
+ * Shared deltas and snapshots carry a {@link SharedBody}, so their entries are
+ * serialised once per revision however many clients receive them.
+ */
+public class StatsSyncManager {
+    private static final int MAX_PAGE_SIZE = 500;
+    // Minimum time between two syncs triggered by one client's view requests
+    private static final long VIEW_REQUEST_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final Map<UUID, ClientState> clients = new HashMap<>();
+    private static long revision;
+    // Revision every subscribed client was brought up to by the last sync
+    private static long syncedRevision;
+
+    public record View(Config.OfflineSort sort, int offset, int limit) {
+        static View defaultView() {
+            return new View(Config.offlineSortOrder, 0, Config.offlinePageSize);
+        }
+    }
+
+    // Entries a client with a given view should hold
+    private record Window(Set<UUID> targets, int offlineCount) {}
+
+    private record DeltaKey(View view, long since) {}
+
+    private record SharedDelta(Set<UUID> heldBefore, Set<UUID> heldAfter, PlayerStatsDeltaPacket packet) {}
+
+    // Snapshot sent to every client joining with a view until the next revision
+    private record SharedSnapshot(long revision, int configVersion, Set<UUID> targets, PlayerStatsPacket packet) {}
+
+    private static final Map<View, SharedSnapshot> snapshots = new HashMap<>();
+
+    private static class ClientState {
+        long revision;
+        View view = View.defaultView();
+        boolean viewChanged;
+        // Whether the client has its player list open
+        boolean subscribed;
+        long lastViewSync = System.nanoTime() - VIEW_REQUEST_INTERVAL;
+        Set<UUID> held = Set.of();
+        // Session indices whose UUID this client has been sent
+        final BitSet knownIndices = new BitSet();
+    }
+
+    public static long nextRevision() {
+        return ++revision;
+    }
+
+    public static long getSyncedRevision() {
+        return syncedRevision;
+    }
+
+    public static void sync(MinecraftServer server, StatsTable playerStats, OfflineStatsStore offline) {
+        Map<View, Window> windows = new HashMap<>();
+        Map<DeltaKey, SharedDelta> deltas = new HashMap<>();
+
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            ClientState state = clients.get(player.getUUID());
+            if (state == null) {
+                sendSnapshot(server, player, playerStats, offline, windows);
+                continue;
+            }
+            if (!state.subscribed || (state.revision == revision && !state.viewChanged)) continue;
+            // The client cannot apply deltas until its chunked snapshot is complete
+            if (SnapshotTransfers.isPending(player.getUUID())) continue;
+
+            Window window = windows.computeIfAbsent(state.view, view -> computeWindow(server, view, playerStats, offline));
+
+            // Clients with the same view, revision and held entries share one delta
+            DeltaKey key = new DeltaKey(state.view, state.revision);
+            SharedDelta shared = deltas.get(key);
+            if (shared == null || !shared.heldBefore().equals(state.held)) {
+                shared = buildDelta(state, window, playerStats, offline);
+                deltas.putIfAbsent(key, shared);
+            }
+
+            PlayerStatsDeltaPacket delta = shared.packet();
+            Int2ObjectMap<UUID> definitions = collectDefinitions(state, delta.changed());
+            NetworkHandler.sendToPlayer(player, definitions.isEmpty() ? delta : delta.withDefinitions(definitions));
+            state.revision = revision;
+            state.held = shared.heldAfter();
+            state.viewChanged = false;
+        }
+
+        syncedRevision = revision;
+        // Snapshots from older revisions can no longer be handed out
+        snapshots.values().removeIf(snapshot -> snapshot.revision() != revision);
+    }
+
+    public static void sendSnapshot(MinecraftServer server, ServerPlayer player,
+                                    StatsTable playerStats, OfflineStatsStore offline) {
+        sendSnapshot(server, player, playerStats, offline, new HashMap<>());
+    }
+
+    private static void sendSnapshot(MinecraftServer server, ServerPlayer player, StatsTable playerStats,
+                                     OfflineStatsStore offline, Map<View, Window> windows) {
+        ClientState state = clients.computeIfAbsent(player.getUUID(), k -> new ClientState());
+        SharedSnapshot shared = snapshots.get(state.view);
+        if (shared == null || shared.revision() != revision || shared.configVersion() != Config.version) {
+            Window window = windows.computeIfAbsent(state.view, view -> computeWindow(server, view, playerStats, offline));
+            shared = buildSnapshot(window, playerStats, offline);
+            snapshots.put(state.view, shared);
+        }
+
+        PlayerStatsPacket packet = shared.packet();
+        Int2ObjectMap<UUID> definitions = collectDefinitions(state, packet.playerStats());
+        SnapshotTransfers.send(player, definitions.isEmpty() ? packet : packet.withDefinitions(definitions));
+        state.revision = revision;
+        state.held = shared.targets();
+        state.viewChanged = false;
+    }
+
+    private static SharedSnapshot buildSnapshot(Window window, StatsTable playerStats, OfflineStatsStore offline) {
+        Int2ObjectMap<PlayerStatsData> visibleStats = new Int2ObjectOpenHashMap<>();
+        for (UUID uuid : window.targets()) {
+            // Rows are materialised as detached copies, since local connections hand the packet over without encoding
+            int slot = playerStats.slotOf(uuid);
+            if (slot >= 0) {
+                visibleStats.put(PlayerIndex.indexOf(uuid), playerStats.get(slot));
+            } else if ((slot = offline.slotOf(uuid)) >= 0) {
+                visibleStats.put(PlayerIndex.indexOf(uuid), offline.get(slot));
+            }
+        }
+
+        PlayerStatsPacket packet = new PlayerStatsPacket(revision, Int2ObjectMaps.emptyMap(), visibleStats,
+                window.offlineCount(), new SharedBody());
+        return new SharedSnapshot(revision, Config.version, window.targets(), packet);
+    }
+
+    /**
+     * Records the page a client asked for, with the offset clamped to the offline
+     * roster. Returns true if the view changed and the client may be synced now;
+     * changes arriving faster than {@link #VIEW_REQUEST_INTERVAL} are held until
+     * {@link #hasDueViewChanges()} releases them.
+     */
+    public static boolean setView(ServerPlayer player, View view, int offlineCount) {
+        ClientState state = clients.get(player.getUUID());
+        if (state == null) return false;
+
+        View clamped = new View(view.sort(), Math.max(0, Math.min(view.offset(), offlineCount)),
+                Math.max(0, Math.min(view.limit(), MAX_PAGE_SIZE)));
+        if (clamped.equals(state.view)) return false;
+
+        state.view = clamped;
+        state.viewChanged = true;
+        long now = System.nanoTime();
+        if (now - state.lastViewSync < VIEW_REQUEST_INTERVAL) return false;
+
+        state.lastViewSync = now;
+        return true;
+    }
+
+    /**
+     * Whether a view change held back by rate limiting is now due for a sync.
+     */
+    public static boolean hasDueViewChanges() {
+        long now = System.nanoTime();
+        boolean due = false;
+        for (ClientState state : clients.values()) {
+            if (state.subscribed && state.viewChanged && now - state.lastViewSync >= VIEW_REQUEST_INTERVAL) {
+                state.lastViewSync = now;
+                due = true;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Records whether a client has its player list open. Returns true if it just
+     * opened and is behind, so the caller should sync to catch it up.
+     */
+    public static boolean setSubscribed(ServerPlayer player, boolean subscribed) {
+        ClientState state = clients.get(player.getUUID());
+        if (state == null) return false;
+
+        boolean opened = subscribed && !state.subscribed;
+        state.subscribed = subscribed;
+        return opened && (state.revision != revision || state.viewChanged);
+    }
+
+    public static void onPlayerLeave(UUID uuid) {
+        clients.remove(uuid);
+    }
+
+    public static void reset() {
+        clients.clear();
+        snapshots.clear();
+        PlayerIndex.reset();
+        revision = 0;
+        syncedRevision = 0;
+    }
+
+    private static Window computeWindow(MinecraftServer server, View view,
+                                        StatsTable playerStats, OfflineStatsStore offline) {
+        Set<UUID> targets = new LinkedHashSet<>();
+        for (ServerPlayer online : server.getPlayerList().getPlayers()) {
+            if (playerStats.contains(online.getUUID())) targets.add(online.getUUID());
+        }
+
+        if (!Config.showOfflinePlayers) return new Window(Collections.unmodifiableSet(targets), 0);
+
+        // Keep the best offset + limit slots in a bounded heap, worst on top
+        IntComparator order = offlineOrder(view.sort(), offline);
+        int offlineCount = offline.size();
+        // Widened so a large offset cannot overflow
+        int needed = (int) Math.min((long) view.offset() + view.limit(), offlineCount);
+
+        if (needed > 0) {
+            IntHeapPriorityQueue best = new IntHeapPriorityQueue(needed + 1,
+                    (a, b) -> order.compare(b, a));
+            for (int slot = 0; slot < offlineCount; slot++) {
+                best.enqueue(slot);
+                if (best.size() > needed) best.dequeueInt();
+            }
+
+            int[] page = new int[best.size()];
+            for (int i = page.length - 1; i >= 0; i--) {
+                page[i] = best.dequeueInt();
+            }
+            for (int i = view.offset(); i < page.length; i++) {
+                targets.add(offline.getUuid(page[i]));
+            }
+        }
+
+        return new Window(Collections.unmodifiableSet(targets), offlineCount);
+    }
+
+    private static IntComparator offlineOrder(Config.OfflineSort sort, OfflineStatsStore offline) {
+        IntComparator order = switch (sort) {
+            case PLAYTIME -> (a, b) -> Long.compare(offline.getPlayTime(b), offline.getPlayTime(a));
+            case LAST_SEEN -> (a, b) -> Long.compare(offline.getLastSeen(b), offline.getLastSeen(a));
+        };
+        // Same tie-break as UUID.compareTo so pages stay stable
+        return (a, b) -> {
+            int result = order.compare(a, b);
+            if (result != 0) return result;
+            result = Long.compare(offline.getUuidMost(a), offline.getUuidMost(b));
+            return result != 0 ? result : Long.compare(offline.getUuidLeast(a), offline.getUuidLeast(b));
+        };
+    }
+
+    private static SharedDelta buildDelta(ClientState state, Window window,
+                                          StatsTable playerStats, OfflineStatsStore offline) {
+        long since = state.revision;
+        Int2ObjectMap<PlayerStatsData> changed = new Int2ObjectOpenHashMap<>();
+        IntList removed = new IntArrayList();
+
+        for (UUID uuid : window.targets()) {
+            // Read the revision column first so unchanged rows are never materialised
+            boolean held = state.held.contains(uuid);
+            PlayerStatsData data;
+            int slot = playerStats.slotOf(uuid);
+            if (slot >= 0) {
+                if (held && playerStats.getRevision(slot) <= since) continue;
+                data = playerStats.get(slot);
+            } else if ((slot = offline.slotOf(uuid)) >= 0) {
+                if (held && offline.getRevision(slot) <= since) continue;
+                data = offline.get(slot);
+            } else {
+                continue;
+            }
+
+            if (!held) {
+                // Entering the client's view: send everything
+                changed.put(PlayerIndex.indexOf(uuid), data.copyFields(PlayerStatsData.ALL_FIELDS));
+            } else if (data.getRevision() > since) {
+                changed.put(PlayerIndex.indexOf(uuid), data.copyFields(data.changedFieldsSince(since)));
+            }
+        }
+
+        for (UUID uuid : state.held) {
+            if (!window.targets().contains(uuid)) removed.add(PlayerIndex.indexOf(uuid));
+        }
+
+        PlayerStatsDeltaPacket packet = new PlayerStatsDeltaPacket(since, revision, Int2ObjectMaps.emptyMap(),
+                changed, removed, window.offlineCount(), new SharedBody());
+        return new SharedDelta(state.held, window.targets(), packet);
+    }
+
+    private static Int2ObjectMap<UUID> collectDefinitions(ClientState state, Int2ObjectMap<PlayerStatsData> entries) {
+        Int2ObjectMap<UUID> definitions = null;
+        IntIterator it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            int index = it.nextInt();
+            if (state.knownIndices.get(index)) continue;
+
+            if (definitions == null) definitions = new Int2ObjectOpenHashMap<>();
+            definitions.put(index, PlayerIndex.uuidAt(index));
+            state.knownIndices.set(index);
+        }
+        return definitions != null ? definitions : Int2ObjectMaps.emptyMap();
+    }
+}
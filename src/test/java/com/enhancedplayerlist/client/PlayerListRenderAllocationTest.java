@@ -0,0 +1,161 @@
+// src/test/java/com/enhancedplayerlist/client/PlayerListRenderAllocationTest.java
+package com.enhancedplayerlist.client;
+
+import com.enhancedplayerlist.Config;
+import com.enhancedplayerlist.data.PlayerStatsData;
+import com.enhancedplayerlist.data.StatsTable;
+import net.minecraft.client.StringSplitter;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.multiplayer.PlayerInfo;
+import net.minecraft.util.FormattedCharSequence;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a steady-state overlay frame allocates nothing: with an unchanged
+ * snapshot, {@link PlayerListModel#update}, {@link PlayerListLayout#update} and
+ * {@link PlayerListLayout#draw} only replay prebuilt rows. The texture-cached draw
+ * needs a GL context and is not covered here.
+ */
+class PlayerListRenderAllocationTest {
+    private static final int PLAYERS = 200;
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 10_000;
+    private static final int SCREEN_WIDTH = 854;
+    private static final int SCREEN_HEIGHT = 480;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static List<? extends String> savedStats;
+
+    @BeforeAll
+    static void configure() {
+        savedStats = Config.visibleStats;
+        Config.visibleStats = List.of("playtime", "deaths", "distance", "jumps", "lastSeen");
+        Config.showOfflinePlayers = true;
+        Config.grayOutOffline = true;
+        Config.compactMode = false;
+        Config.listSortOrder = Config.ListSort.PLAYTIME;
+        Config.listOnlineOnly = false;
+        Config.listSeenWithinDays = 0;
+        Config.listNameFilter = "";
+        Config.version++;
+    }
+
+    @AfterAll
+    static void restore() {
+        Config.visibleStats = savedStats;
+        Config.version++;
+    }
+
+    @Test
+    void steadyStateFrameDoesNotAllocate() {
+        StatsSnapshot snapshot = snapshot();
+        Collection<PlayerInfo> listed = List.of();
+        Font font = new FixedWidthFont();
+        CountingGraphics graphics = new CountingGraphics();
+        PlayerListModel model = new PlayerListModel();
+        PlayerListLayout layout = new PlayerListLayout();
+
+        // The first frame builds the rows; everything after only replays them
+        assertTrue(model.update(snapshot, listed, font));
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame(model, layout, snapshot, listed, font, graphics);
+        }
+        assertTrue(graphics.strings > 0, "nothing was drawn");
+
+        long overhead = measureOverhead();
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            frame(model, layout, snapshot, listed, font, graphics);
+        }
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before - overhead;
+
+        assertEquals(0, Math.max(0, allocated), "bytes allocated over " + MEASURED_FRAMES + " frames");
+    }
+
+    private static void frame(PlayerListModel model, PlayerListLayout layout, StatsSnapshot snapshot,
+                              Collection<PlayerInfo> listed, Font font, GuiGraphics graphics) {
+        model.update(snapshot, listed, font);
+        layout.update(model, SCREEN_WIDTH, SCREEN_HEIGHT, font);
+        layout.draw(graphics, model, font, false);
+    }
+
+    // Cost of reading the counter itself, taken off the measurement
+    private static long measureOverhead() {
+        long first = THREADS.getCurrentThreadAllocatedBytes();
+        return THREADS.getCurrentThreadAllocatedBytes() - first;
+    }
+
+    private static StatsSnapshot snapshot() {
+        StatsTable table = new StatsTable();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < PLAYERS; i++) {
+            table.put(new UUID(0, i), PlayerStatsData.builder()
+                    .playerName("Player" + i)
+                    .online(i % 4 == 0)
+                    .lastSeen(now - i * 3_600_000L)
+                    .playTime(i * 72_000L)
+                    .deaths(i % 13)
+                    .blocksWalked(i * 125_000L)
+                    .jumps(i * 40)
+                    .build());
+        }
+        return new StatsSnapshot(1, table.snapshot(), PLAYERS - PLAYERS / 4, 0, null);
+    }
+
+    /**
+     * Six pixels per character, without loading font resources.
+     */
+    private static final class FixedWidthFont extends Font {
+        private final StringSplitter splitter = new StringSplitter((codePoint, style) -> 6);
+
+        FixedWidthFont() {
+            super(location -> null, false);
+        }
+
+        @Override
+        public int width(String text) {
+            return text.length() * 6;
+        }
+
+        @Override
+        public StringSplitter getSplitter() {
+            return splitter;
+        }
+    }
+
+    /**
+     * Counts draw calls instead of rendering them.
+     */
+    private static final class CountingGraphics extends GuiGraphics {
+        long strings;
+        long fills;
+
+        CountingGraphics() {
+            super(null, null);
+        }
+
+        @Override
+        public int drawString(Font font, FormattedCharSequence text, int x, int y, int color, boolean dropShadow) {
+            strings++;
+            return x;
+        }
+
+        @Override
+        public void fill(int minX, int minY, int maxX, int maxY, int color) {
+            fills++;
+        }
+    }
+}
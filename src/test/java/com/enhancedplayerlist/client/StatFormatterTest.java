@@ -0,0 +1,115 @@
+// src/test/java/com/enhancedplayerlist/client/StatFormatterTest.java
+package com.enhancedplayerlist.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks {@link StatFormatter} against the {@code String.format} and
+ * {@code StringBuilder} code it replaced.
+ */
+class StatFormatterTest {
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void formatFixedMatchesStringFormat() {
+        Random random = new Random(19);
+        for (int decimals = 0; decimals <= 3; decimals++) {
+            for (int i = 0; i < SAMPLES; i++) {
+                double value = switch (i % 4) {
+                    case 0 -> random.nextDouble() * 100_000;
+                    // Values with one digit more than shown, many of them exact ties
+                    case 1 -> random.nextInt(10_000_000) / Math.pow(10, decimals + 1);
+                    // Halves of float damage, as the heart cells do
+                    case 2 -> random.nextFloat() * 20_000 / 2f;
+                    default -> -random.nextDouble() * 1000;
+                };
+                assertFixed(value, decimals, " km");
+            }
+        }
+    }
+
+    @Test
+    void formatFixedMatchesStringFormatOnEdgeCases() {
+        double[] values = {0, -0.0, 0.05, -0.05, 0.5, 1.45, 2.675, 12.35, 257.525, 999.95, 1e14 + 0.5,
+                1e16, -1e16, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double value : values) {
+            for (int decimals = 0; decimals <= 3; decimals++) {
+                assertFixed(value, decimals, "");
+            }
+        }
+    }
+
+    @Test
+    void formatFixedUsesLocaleDecimalSeparator() {
+        Locale saved = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            assertFixed(1234.56, 1, " km");
+            Locale.setDefault(Locale.Category.FORMAT, Locale.US);
+            assertFixed(1234.56, 1, " km");
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, saved);
+        }
+    }
+
+    @Test
+    void formatLongMatchesStringValueOf() {
+        Random random = new Random(19);
+        long[] edges = {0, 1, -1, 9, 10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : edges) {
+            assertEquals(value + " mins ago", StatFormatter.formatLong(value, " mins ago"));
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            long value = random.nextLong() >> random.nextInt(64);
+            assertEquals(String.valueOf(value), StatFormatter.formatLong(value, ""));
+        }
+    }
+
+    @Test
+    void formatDurationMatchesPreviousFormatting() {
+        Random random = new Random(19);
+        long[] edges = {-1, 0, 1, 1199, 1200, 71_999, 72_000, 72_001, 1_727_999, 1_728_000, 1_729_200, 1_800_000};
+        for (long ticks : edges) {
+            assertDuration(ticks);
+        }
+        for (int i = 0; i < SAMPLES; i++) {
+            assertDuration(random.nextLong(0, 20L * 3600 * 24 * 3650));
+        }
+    }
+
+    private static void assertFixed(double value, int decimals, String suffix) {
+        assertEquals(String.format("%." + decimals + "f" + suffix, value),
+                StatFormatter.formatFixed(value, decimals, suffix), () -> value + " to " + decimals + " decimals");
+    }
+
+    private static void assertDuration(long ticks) {
+        assertEquals(formatTime(ticks, false), StatFormatter.formatDuration(ticks, false), () -> ticks + " ticks");
+        assertEquals(formatTime(ticks, true), StatFormatter.formatDuration(ticks, true), () -> ticks + " ticks, compact");
+    }
+
+    // The play time formatting StatFormatter replaced
+    private static String formatTime(long ticks, boolean compact) {
+        if (ticks <= 0) return "0h";
+
+        long totalSeconds = ticks / 20;
+        if (compact) {
+            return TimeUnit.SECONDS.toHours(totalSeconds) + "h";
+        }
+
+        long days = TimeUnit.SECONDS.toDays(totalSeconds);
+        long hours = TimeUnit.SECONDS.toHours(totalSeconds) % 24;
+        long minutes = TimeUnit.SECONDS.toMinutes(totalSeconds) % 60;
+
+        StringBuilder time = new StringBuilder();
+        if (days > 0) time.append(days).append("d ");
+        if (hours > 0 || days > 0) time.append(hours).append("h ");
+        if (minutes > 0) time.append(minutes).append("m");
+        return time.toString().trim();
+    }
+}
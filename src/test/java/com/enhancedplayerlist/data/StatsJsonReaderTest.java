@@ -0,0 +1,130 @@
+// src/test/java/com/enhancedplayerlist/data/StatsJsonReaderTest.java
+package com.enhancedplayerlist.data;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Checks that the streaming reader extracts the same values as the tree-based
+ * reading it replaced, kept here as {@link #readTree}.
+ */
+class StatsJsonReaderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"veteran", "midgame", "fresh"})
+    void matchesTreeReaderOnVanillaFiles(String name) throws IOException {
+        String json = resource("/stats/" + name + ".json");
+        assertParity(json);
+    }
+
+    @Test
+    void skipsEverythingWithoutCustomSection() throws IOException {
+        assertParity("{\"stats\":{\"minecraft:mined\":{\"minecraft:stone\":12}},\"DataVersion\":3955}");
+        assertParity("{\"DataVersion\":3955}");
+    }
+
+    @Test
+    void readsFractionalAndMalformedValuesLikeTreeReader() throws IOException {
+        assertParity("{\"stats\":{\"minecraft:custom\":{\"minecraft:play_time\":1200.75,"
+                + "\"minecraft:deaths\":\"many\",\"minecraft:jump\":null,\"minecraft:damage_dealt\":12.5,"
+                + "\"minecraft:walk_one_cm\":{\"x\":1},\"minecraft:sprint_one_cm\":40},"
+                + "\"minecraft:mined\":{\"minecraft:stone\":3,\"minecraft:dirt\":2.9}}}");
+    }
+
+    private static void assertParity(String json) throws IOException {
+        PlayerStatsData.Builder reference = PlayerStatsData.builder();
+        readTree(JsonParser.parseString(json).getAsJsonObject(), reference);
+        PlayerStatsData expected = reference.build();
+
+        PlayerStatsData.Builder builder = PlayerStatsData.builder();
+        try (Reader reader = new StringReader(json)) {
+            StatsJsonReader.read(reader, builder);
+        }
+        PlayerStatsData actual = builder.build();
+
+        assertEquals(expected.getPlayTime(), actual.getPlayTime(), "play time");
+        assertEquals(expected.getDeaths(), actual.getDeaths(), "deaths");
+        assertEquals(expected.getTimeSinceDeath(), actual.getTimeSinceDeath(), "time since death");
+        assertEquals(expected.getMobKills(), actual.getMobKills(), "mob kills");
+        assertEquals(expected.getBlocksWalked(), actual.getBlocksWalked(), "blocks walked");
+        assertEquals(expected.getBlocksMined(), actual.getBlocksMined(), "blocks mined");
+        assertEquals(expected.getJumps(), actual.getJumps(), "jumps");
+        assertEquals(expected.getDamageDealt(), actual.getDamageDealt(), "damage dealt");
+        assertEquals(expected.getDamageTaken(), actual.getDamageTaken(), "damage taken");
+    }
+
+    // The tree-based reading StatsJsonReader replaced
+    private static void readTree(JsonObject json, PlayerStatsData.Builder builder) {
+        try {
+            JsonObject stats = json.getAsJsonObject("stats");
+            if (stats == null) return;
+
+            JsonObject customStats = stats.getAsJsonObject("minecraft:custom");
+            if (customStats == null) return;
+
+            builder.playTime(getStatLong(customStats, "minecraft:play_time", 0L))
+                    .deaths(getStatInt(customStats, "minecraft:deaths", 0))
+                    .timeSinceDeath(getStatLong(customStats, "minecraft:time_since_death", 0L))
+                    .mobKills(getStatInt(customStats, "minecraft:mob_kills", 0))
+                    .blocksWalked(getStatLong(customStats, "minecraft:walk_one_cm", 0L) +
+                            getStatLong(customStats, "minecraft:sprint_one_cm", 0L) +
+                            getStatLong(customStats, "minecraft:walk_on_water_one_cm", 0L) +
+                            getStatLong(customStats, "minecraft:walk_under_water_one_cm", 0L))
+                    .jumps(getStatInt(customStats, "minecraft:jump", 0))
+                    .damageDealt(getStatFloat(customStats, "minecraft:damage_dealt", 0f))
+                    .damageTaken(getStatFloat(customStats, "minecraft:damage_taken", 0f));
+
+            JsonObject minedStats = stats.getAsJsonObject("minecraft:mined");
+            if (minedStats != null) {
+                builder.blocksMined(minedStats.entrySet().stream()
+                        .mapToLong(entry -> getStatLong(minedStats, entry.getKey(), 0L))
+                        .sum());
+            }
+        } catch (RuntimeException e) {
+            // A malformed section kept whatever had been read before it
+        }
+    }
+
+    private static long getStatLong(JsonObject json, String key, long defaultValue) {
+        try {
+            return json.has(key) ? json.get(key).getAsLong() : defaultValue;
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+
+    private static int getStatInt(JsonObject json, String key, int defaultValue) {
+        try {
+            return json.has(key) ? json.get(key).getAsInt() : defaultValue;
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+
+    private static float getStatFloat(JsonObject json, String key, float defaultValue) {
+        try {
+            return json.has(key) ? json.get(key).getAsFloat() : defaultValue;
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String resource(String path) throws IOException {
+        try (InputStream in = StatsJsonReaderTest.class.getResourceAsStream(path)) {
+            assertNotNull(in, path);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}